@@ -0,0 +1,61 @@
+package me.dio.benchmark;
+
+import me.dio.dominio.model.Account;
+import me.dio.dominio.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Custo de AccountService.findById e AccountService.save contra o H2 em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccountServiceBenchmark {
+
+    @Param("1000")
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private long firstId;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        accountService = context.getBean(AccountService.class);
+        BenchmarkApplication.seed(context, datasetSize);
+        firstId = accountService.findPage(0L, 1).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Account> findById() {
+        return accountService.findById(firstId + ThreadLocalRandom.current().nextInt(datasetSize));
+    }
+
+    @Benchmark
+    public Account save() {
+        Account account = new Account();
+        account.setNumber(String.format("B%08d", sequence.incrementAndGet()));
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setCreditLimit(new BigDecimal("500.00"));
+        return accountService.save(account);
+    }
+}
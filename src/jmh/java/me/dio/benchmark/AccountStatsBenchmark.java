@@ -0,0 +1,78 @@
+package me.dio.benchmark;
+
+import me.dio.dominio.dto.AccountStats;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.repository.AccountRepository;
+import me.dio.dominio.service.AccountLedger;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totais por agência e as 10 contas de maior saldo: 'entities' carrega as contas e
+ * soma os BigDecimal no heap, como antes de GET /api/accounts/stats; 'ledger' usa os
+ * arrays em centavos do AccountLedger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccountStatsBenchmark {
+
+    private static final int TOP = 10;
+
+    @Param("10000")
+    public int datasetSize;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountRepository accountRepository;
+
+    private AccountLedger ledger;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        BenchmarkApplication.seed(context, datasetSize);
+        accountRepository = context.getBean(AccountRepository.class);
+        // A massa é gravada direto pelo repositório; um ledger novo a lê do banco
+        ledger = new AccountLedger(accountRepository, context.getBean(PlatformTransactionManager.class));
+        ledger.load();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object entities() {
+        List<Account> accounts = accountRepository.findAll();
+        Map<String, BigDecimal[]> byAgency = new TreeMap<>();
+        for (Account account : accounts) {
+            BigDecimal[] totals = byAgency.computeIfAbsent(account.getAgency(),
+                    agency -> new BigDecimal[] { BigDecimal.ZERO, null, null, BigDecimal.ZERO });
+            totals[0] = totals[0].add(account.getBalance());
+            totals[1] = totals[1] == null ? account.getBalance() : totals[1].min(account.getBalance());
+            totals[2] = totals[2] == null ? account.getBalance() : totals[2].max(account.getBalance());
+            totals[3] = totals[3].add(account.getCreditLimit());
+        }
+        List<Account> top = accounts.stream()
+                .sorted(Comparator.comparing(Account::getBalance).reversed())
+                .limit(TOP)
+                .toList();
+        return List.of(byAgency, top);
+    }
+
+    @Benchmark
+    public AccountStats ledger() {
+        return ledger.stats(null, TOP);
+    }
+}
@@ -0,0 +1,57 @@
+package me.dio.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.service.ApplicationUserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de uma página de usuários completos (grafo ApplicationUser). O
+ * parâmetro 'mapper' compara o ObjectMapper padrão do Spring Boot ("default") com
+ * o que a aplicação usa nos controllers, com os módulos de JsonConfiguration
+ * ("tuned"). O banco só é lido no @Setup: o benchmark mede apenas o Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApplicationUserSerializationBenchmark {
+
+    @Param({ "1", "100" })
+    public int pageSize;
+
+    @Param({ "default", "tuned" })
+    public String mapper;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private List<ApplicationUser> page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        objectMapper = mapper.equals("tuned")
+                ? context.getBean(ObjectMapper.class)
+                : Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        BenchmarkApplication.seed(context, pageSize);
+        page = context.getBean(ApplicationUserService.class).findPage(0L, pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,138 @@
+package me.dio.benchmark;
+
+import me.dio.Application;
+import me.dio.dominio.model.*;
+import me.dio.dominio.repository.UserRepository;
+import me.dio.reactive.ReactiveNewsApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sobe a aplicação para os benchmarks, cada uma com o seu próprio banco H2 em
+ * memória e sem o log de SQL, e popula o banco com um conjunto de usuários
+ * completos (conta, cartão, empréstimo, features e news).
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK = 500;
+
+    private static final String R2DBC_AUTO_CONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration");
+
+    private static final String JDBC_AUTO_CONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration");
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType type, String... extraProperties) {
+        return start(type, List.of(), extraProperties);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType type, List<Class<?>> extraSources,
+            String... extraProperties) {
+        String instance = UUID.randomUUID().toString();
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + instance,
+                "app.journal.directory=build/jmh-journal/" + instance,
+                "server.port=0",
+                "logging.level.root=WARN",
+                // O classpath do JMH inclui o feed reativo; a aplicação MVC não usa R2DBC
+                "spring.autoconfigure.exclude=" + R2DBC_AUTO_CONFIGURATION));
+        properties.addAll(List.of(extraProperties));
+        List<Class<?>> sources = new ArrayList<>(List.of(Application.class));
+        sources.addAll(extraSources);
+        return new SpringApplicationBuilder(sources.toArray(Class<?>[]::new))
+                .web(type)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Sobe o feed de notícias reativo lendo o mesmo banco H2 em memória da aplicação
+     * MVC 'mvc' (as duas rodam na mesma JVM).
+     */
+    static ConfigurableApplicationContext startReactiveNews(ConfigurableApplicationContext mvc, String... extraProperties) {
+        String jdbcUrl = mvc.getEnvironment().getProperty("spring.datasource.url");
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.r2dbc.url=" + jdbcUrl.replace("jdbc:h2:mem:", "r2dbc:h2:mem:///"),
+                "server.port=0",
+                "logging.level.root=WARN",
+                "spring.autoconfigure.exclude=" + JDBC_AUTO_CONFIGURATION));
+        properties.addAll(List.of(extraProperties));
+        // Como argumentos de linha de comando, para valer sobre 'reactive-news.properties'
+        return ReactiveNewsApplication.builder()
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * Grava 'users' usuários e devolve o id do primeiro.
+     */
+    static long seed(ConfigurableApplicationContext context, int users) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        long firstId = -1;
+        List<ApplicationUser> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < users; i++) {
+            chunk.add(user(i));
+            if (chunk.size() == SEED_CHUNK || i == users - 1) {
+                List<ApplicationUser> saved = userRepository.saveAll(chunk);
+                if (firstId < 0) {
+                    firstId = saved.get(0).getId();
+                }
+                chunk.clear();
+            }
+        }
+        return firstId;
+    }
+
+    static ApplicationUser user(int i) {
+        Account account = new Account();
+        account.setNumber(String.format("%08d-%d", i, i % 10));
+        account.setAgency(String.format("%04d", i % 50));
+        account.setBalance(new BigDecimal("1523.47"));
+        account.setCreditLimit(new BigDecimal("2000.00"));
+
+        Card card = new Card();
+        card.setNumber(String.format("%016d", i));
+        card.setCreditLimit(new BigDecimal("3500.00"));
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setAmount(new BigDecimal("12000.00"));
+        emprestimos.setDate(LocalDateTime.now());
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setName("Usuário " + i);
+        user.setAccount(account);
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        user.setFeatures(List.of(feature("pix", "Pix"), feature("pay", "Pagar")));
+        user.setNews(List.of(news("credit", "Crédito pré-aprovado"), news("card", "Novo cartão")));
+        return user;
+    }
+
+    private static Feature feature(String icon, String description) {
+        Feature feature = new Feature();
+        feature.setIcon("https://cdn.example.com/icons/" + icon + ".svg");
+        feature.setDescription(description);
+        return feature;
+    }
+
+    private static News news(String icon, String description) {
+        News news = new News();
+        news.setIcon("https://cdn.example.com/icons/" + icon + ".svg");
+        news.setDescription(description);
+        return news;
+    }
+}
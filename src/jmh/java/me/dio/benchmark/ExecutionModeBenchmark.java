@@ -0,0 +1,75 @@
+package me.dio.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da listagem de contas com muitos clientes simultâneos e um banco lento,
+ * comparando o pool de threads de plataforma do Tomcat (limitado a
+ * 'tomcatThreads') com o modo de threads virtuais (perfil 'virtual-threads').
+ * O pool de conexões é maior que o de threads, então no modo de plataforma o
+ * gargalo é o número de threads e no modo virtual passa a ser o banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(128)
+public class ExecutionModeBenchmark {
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param("1000")
+    public int datasetSize;
+
+    @Param("10")
+    public int dbLatencyMs;
+
+    @Param("32")
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET, List.of(SlowDatabaseConfiguration.class),
+                "spring.profiles.active=" + ("virtual".equals(mode) ? "virtual-threads" : "default"),
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "server.tomcat.accept-count=1000",
+                "spring.datasource.hikari.maximum-pool-size=" + (tomcatThreads * 2),
+                "benchmark.db-latency-ms=" + dbLatencyMs);
+        BenchmarkApplication.seed(context, datasetSize);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int accountsPage() throws Exception {
+        long after = ThreadLocalRandom.current().nextInt(datasetSize);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/accounts?limit=20&after=" + after))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+}
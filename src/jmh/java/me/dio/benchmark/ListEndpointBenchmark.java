@@ -0,0 +1,88 @@
+package me.dio.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência ponta a ponta (HTTP + serviço + banco + JSON) dos endpoints de
+ * listagem, com 'datasetSize' usuários completos no H2. Cada chamada pede uma
+ * página de 'limit' itens a partir de um cursor aleatório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListEndpointBenchmark {
+
+    @Param("1000")
+    public int datasetSize;
+
+    @Param("20")
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET);
+        BenchmarkApplication.seed(context, datasetSize);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] accounts() throws Exception {
+        return get("/api/accounts");
+    }
+
+    @Benchmark
+    public byte[] cards() throws Exception {
+        return get("/api/cards");
+    }
+
+    @Benchmark
+    public byte[] news() throws Exception {
+        return get("/api/news");
+    }
+
+    @Benchmark
+    public byte[] applicationUsersFull() throws Exception {
+        return get("/api/application_users");
+    }
+
+    @Benchmark
+    public byte[] applicationUsersSummary() throws Exception {
+        return get("/api/application_users?view=summary");
+    }
+
+    private byte[] get(String path) throws Exception {
+        long after = ThreadLocalRandom.current().nextInt(Math.max(1, datasetSize - limit));
+        String separator = path.contains("?") ? "&" : "?";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path + separator + "after=" + after + "&limit=" + limit))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " respondeu " + response.statusCode());
+        }
+        return response.body();
+    }
+}
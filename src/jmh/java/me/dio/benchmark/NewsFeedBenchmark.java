@@ -0,0 +1,85 @@
+package me.dio.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de 'GET /api/news' com muitos clientes simultâneos, comparando a
+ * aplicação MVC (Tomcat, uma thread por requisição, limitada a 'tomcatThreads')
+ * com o feed reativo (Netty + R2DBC, event loop com uma thread por núcleo).
+ * As duas leem o mesmo banco H2 em memória; o cache de news do MVC fica
+ * desligado para que ambas façam a consulta a cada requisição.
+ *
+ * Com H2 o driver R2DBC executa as consultas de forma bloqueante nas threads do
+ * event loop; o ganho do caminho reativo aparece de fato com o PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(256)
+public class NewsFeedBenchmark {
+
+    @Param({ "mvc", "reactive" })
+    public String path;
+
+    @Param("1000")
+    public int datasetSize;
+
+    @Param("64")
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext mvc;
+
+    private ConfigurableApplicationContext reactive;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    private int newsCount;
+
+    @Setup
+    public void setUp() {
+        mvc = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "spring.cache.type=none",
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "server.tomcat.accept-count=1000");
+        BenchmarkApplication.seed(mvc, datasetSize);
+        newsCount = datasetSize * 2;
+        ConfigurableApplicationContext target = mvc;
+        if ("reactive".equals(path)) {
+            reactive = BenchmarkApplication.startReactiveNews(mvc);
+            target = reactive;
+        }
+        int port = ((WebServerApplicationContext) target).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (reactive != null) {
+            reactive.close();
+        }
+        mvc.close();
+    }
+
+    @Benchmark
+    public int newsPage() throws Exception {
+        long after = ThreadLocalRandom.current().nextInt(newsCount);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/news?limit=20&after=" + after))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+}
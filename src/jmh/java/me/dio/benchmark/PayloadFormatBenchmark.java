@@ -0,0 +1,140 @@
+package me.dio.benchmark;
+
+import me.dio.dominio.http.MessageConvertersConfiguration;
+import me.dio.dominio.http.ModelProtobufHttpMessageConverter;
+import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.service.ApplicationUserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codificação e decodificação de uma página de usuários completos em cada formato
+ * negociado pelos controllers (JSON, CBOR, Smile e Protobuf), com os mesmos
+ * conversores da aplicação. O tamanho do corpo, puro e com gzip, é impresso no
+ * @Setup de cada formato.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    private static final Type USERS = new ParameterizedTypeReference<List<ApplicationUser>>() {
+    }.getType();
+
+    @Param({ "json", "cbor", "smile", "protobuf" })
+    public String format;
+
+    @Param({ "100" })
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private GenericHttpMessageConverter<Object> converter;
+
+    private MediaType mediaType;
+
+    private List<ApplicationUser> page;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        Jackson2ObjectMapperBuilder builder = context.getBean(Jackson2ObjectMapperBuilder.class);
+        MessageConvertersConfiguration configuration = new MessageConvertersConfiguration();
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(builder.build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "cbor" -> {
+                converter = configuration.cborHttpMessageConverter(builder);
+                mediaType = MediaType.valueOf("application/cbor");
+            }
+            case "smile" -> {
+                converter = configuration.smileHttpMessageConverter(builder);
+                mediaType = MediaType.valueOf("application/x-jackson-smile");
+            }
+            default -> {
+                converter = configuration.protobufHttpMessageConverter(builder);
+                mediaType = ModelProtobufHttpMessageConverter.PROTOBUF;
+            }
+        }
+        BenchmarkApplication.seed(context, pageSize);
+        page = context.getBean(ApplicationUserService.class).findPage(0L, pageSize);
+        encoded = encode();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s: %d usuários, %d bytes, %d bytes com gzip%n",
+                format, page.size(), encoded.length, compressed.size());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        Output output = new Output();
+        converter.write(page, USERS, mediaType, output);
+        return output.body.toByteArray();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return converter.read(USERS, null, new Input(encoded));
+    }
+
+    private static final class Output implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private record Input(byte[] body) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package me.dio.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simula um banco lento: cada conexão obtida do pool fica retida por
+ * 'benchmark.db-latency-ms' antes de ser usada, como se a consulta demorasse esse
+ * tempo no servidor. Serve para comparar modos de execução em que a thread da
+ * requisição passa a maior parte do tempo bloqueada esperando o banco.
+ */
+@Configuration(proxyBeanMethods = false)
+class SlowDatabaseConfiguration {
+
+    @Bean
+    static BeanPostProcessor slowDatabase(Environment environment) {
+        long latencyNanos = environment.getProperty("benchmark.db-latency-ms", Long.class, 0L) * 1_000_000L;
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || latencyNanos == 0) {
+                    return bean;
+                }
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        Connection connection = super.getConnection();
+                        LockSupport.parkNanos(latencyNanos);
+                        return connection;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package me.dio.loadtest;
+
+import me.dio.dominio.model.*;
+import me.dio.dominio.repository.UserRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados do teste de carga: 'users' usuários completos (conta, cartão,
+ * empréstimo, duas features e duas news), gravados direto pelos repositórios.
+ * Guarda os ids gerados para que o Workload monte requisições a linhas que existem.
+ */
+final class Dataset {
+
+    private static final int CHUNK = 500;
+
+    final long[] userIds;
+    final long[] accountIds;
+    final long[] cardIds;
+    final String[] cardNumbers;
+    final long[] emprestimosIds;
+    final long[] featureIds;
+    final long[] newsIds;
+
+    private Dataset(int users) {
+        userIds = new long[users];
+        accountIds = new long[users];
+        cardIds = new long[users];
+        cardNumbers = new String[users];
+        emprestimosIds = new long[users];
+        featureIds = new long[users * 2];
+        newsIds = new long[users * 2];
+    }
+
+    static Dataset seed(ConfigurableApplicationContext context, int users) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        Dataset dataset = new Dataset(users);
+        List<ApplicationUser> chunk = new ArrayList<>(CHUNK);
+        int saved = 0;
+        for (int i = 0; i < users; i++) {
+            chunk.add(user(i));
+            if (chunk.size() == CHUNK || i == users - 1) {
+                for (ApplicationUser user : userRepository.saveAll(chunk)) {
+                    dataset.add(saved++, user);
+                }
+                chunk.clear();
+            }
+        }
+        return dataset;
+    }
+
+    private void add(int i, ApplicationUser user) {
+        userIds[i] = user.getId();
+        accountIds[i] = user.getAccount().getId();
+        cardIds[i] = user.getCard().getId();
+        cardNumbers[i] = user.getCard().getNumber();
+        emprestimosIds[i] = user.getEmprestimos().getId();
+        featureIds[2 * i] = user.getFeatures().get(0).getId();
+        featureIds[2 * i + 1] = user.getFeatures().get(1).getId();
+        newsIds[2 * i] = user.getNews().get(0).getId();
+        newsIds[2 * i + 1] = user.getNews().get(1).getId();
+    }
+
+    private static ApplicationUser user(int i) {
+        Account account = new Account();
+        account.setNumber(String.format("%08d-%d", i, i % 10));
+        account.setAgency(String.format("%04d", i % 50));
+        account.setBalance(new BigDecimal("100000.00"));
+        account.setCreditLimit(new BigDecimal("2000.00"));
+
+        Card card = new Card();
+        card.setNumber(String.format("%016d", i));
+        card.setCreditLimit(new BigDecimal("100000.00"));
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setAmount(new BigDecimal("12000.00"));
+        emprestimos.setDate(LocalDateTime.now());
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setName("Usuário " + i);
+        user.setAccount(account);
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        user.setFeatures(List.of(feature("pix", "Pix"), feature("pay", "Pagar")));
+        user.setNews(List.of(news("credit", "Crédito pré-aprovado"), news("card", "Novo cartão")));
+        return user;
+    }
+
+    private static Feature feature(String icon, String description) {
+        Feature feature = new Feature();
+        feature.setIcon("https://cdn.example.com/icons/" + icon + ".svg");
+        feature.setDescription(description);
+        return feature;
+    }
+
+    private static News news(String icon, String description) {
+        News news = new News();
+        news.setIcon("https://cdn.example.com/icons/" + icon + ".svg");
+        news.setDescription(description);
+        return news;
+    }
+}
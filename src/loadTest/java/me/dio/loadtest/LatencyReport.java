@@ -0,0 +1,138 @@
+package me.dio.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e erros por rota, em histogramas HdrHistogram (microssegundos, três
+ * dígitos significativos, até 1 minuto). A latência é contada a partir do instante
+ * em que a requisição deveria ter saído, e não de quando saiu, para que um
+ * servidor lento não esconda a própria fila (coordinated omission).
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    private final Route total = new Route();
+
+    LatencyReport(List<Workload.Route> workload) {
+        workload.forEach(route -> routes.put(route.name(), new Route()));
+    }
+
+    private static final class Route {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+
+        void record(long micros, boolean error) {
+            latencies.recordValue(Math.min(micros, HIGHEST_MICROS));
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            latencies.reset();
+            errors.reset();
+        }
+    }
+
+    void record(String route, long nanos, boolean error) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        routes.get(route).record(micros, error);
+        total.record(micros, error);
+    }
+
+    void reset() {
+        routes.values().forEach(Route::reset);
+        total.reset();
+    }
+
+    /** p99 de todas as rotas juntas, em milissegundos. */
+    double totalP99Millis() {
+        return total.latencies.getValueAtPercentile(99) / 1000.0;
+    }
+
+    double errorRate() {
+        long count = total.latencies.getTotalCount();
+        return count == 0 ? 0 : (double) total.errors.sum() / count;
+    }
+
+    void print(PrintStream out, double seconds) {
+        String header = String.format("%-44s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "rota", "reqs", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        out.println(header);
+        out.println("-".repeat(header.length()));
+        routes.forEach((name, route) -> print(out, name, route, seconds));
+        out.println("-".repeat(header.length()));
+        print(out, "total", total, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Route route, double seconds) {
+        Histogram latencies = route.latencies;
+        StringBuilder line = new StringBuilder(String.format("%-44s %8d %7d %9.1f", name, latencies.getTotalCount(),
+                route.errors.sum(), latencies.getTotalCount() / seconds));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(" %9.2f", latencies.getValueAtPercentile(percentile) / 1000.0));
+        }
+        line.append(String.format(" %9.2f", latencies.getMaxValue() / 1000.0));
+        out.println(line);
+    }
+
+    /**
+     * Grava a distribuição completa de cada rota no formato .hgrm do HdrHistogram
+     * (pode ser aberto no HdrHistogram Plotter), mais um CSV com o resumo.
+     */
+    void write(Path directory, double seconds) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            writeDistribution(directory.resolve(fileName(entry.getKey()) + ".hgrm"), entry.getValue());
+        }
+        writeDistribution(directory.resolve("total.hgrm"), total);
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("summary.csv"))) {
+            writer.write("route,requests,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+            for (Map.Entry<String, Route> entry : routes.entrySet()) {
+                writer.write(csv(entry.getKey(), entry.getValue(), seconds));
+            }
+            writer.write(csv("total", total, seconds));
+        }
+    }
+
+    private static void writeDistribution(Path file, Route route) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Valores em microssegundos; o fator 1000 deixa o arquivo em milissegundos
+            route.latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String csv(String name, Route route, double seconds) {
+        Histogram latencies = route.latencies;
+        StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f", name, latencies.getTotalCount(),
+                route.errors.sum(), latencies.getTotalCount() / seconds));
+        for (double percentile : PERCENTILES) {
+            line.append(String.format(Locale.ROOT, ",%.3f", latencies.getValueAtPercentile(percentile) / 1000.0));
+        }
+        return line.append(String.format(Locale.ROOT, ",%.3f%n", latencies.getMaxValue() / 1000.0)).toString();
+    }
+
+    private static String fileName(String route) {
+        return route.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
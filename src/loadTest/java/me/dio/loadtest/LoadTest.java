@@ -0,0 +1,135 @@
+package me.dio.loadtest;
+
+import me.dio.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga da API: sobe a aplicação em um H2 em memória próprio, grava a
+ * massa de dados e dispara a mistura de requisições do Workload a uma taxa fixa.
+ *
+ * O modelo é aberto: as chegadas seguem um processo de Poisson com a taxa pedida,
+ * sem esperar as respostas anteriores, como acontece com usuários reais. Se o
+ * servidor ficar lento, as requisições se acumulam e a latência medida cresce, em
+ * vez de a carga diminuir junto com ele.
+ *
+ * Configuração (propriedades de sistema, repassadas pela task loadTest):
+ * loadtest.rate (req/s), loadtest.duration, loadtest.warmup, loadtest.users,
+ * loadtest.report-dir e loadtest.max-p99-ms (falha se o p99 total passar disso).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+        int users = Integer.parseInt(System.getProperty("loadtest.users", "1000"));
+        Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+        String maxP99 = System.getProperty("loadtest.max-p99-ms", "");
+
+        String instance = UUID.randomUUID().toString();
+        // Como argumentos de linha de comando, para valer sobre o application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + instance,
+                "--app.journal.directory=build/loadtest/journal/" + instance,
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                // As consultas lentas continuam agregadas em /api/diagnostics/slow-queries
+                "--logging.level.me.dio.dominio.monitoring.SlowQueryRecorder=ERROR");
+        int exitCode = 0;
+        try {
+            System.out.printf("Gravando %d usuários...%n", users);
+            Dataset dataset = Dataset.seed(context, users);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Workload workload = new Workload(dataset, "http://localhost:" + port);
+            LatencyReport report = new LatencyReport(workload.routes());
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(executor)
+                        .build();
+                System.out.printf("Aquecimento: %s a %.0f req/s%n", format(warmup), rate);
+                run(client, workload, report, rate, warmup);
+                report.reset();
+                System.out.printf("Medição: %s a %.0f req/s%n", format(duration), rate);
+                run(client, workload, report, rate, duration);
+            }
+
+            double seconds = duration.toNanos() / 1e9;
+            report.print(System.out, seconds);
+            report.write(reportDir, seconds);
+            System.out.printf("Distribuições (.hgrm) e resumo (summary.csv) em %s%n", reportDir.toAbsolutePath());
+
+            if (!maxP99.isBlank() && report.totalP99Millis() > Double.parseDouble(maxP99)) {
+                System.out.printf(Locale.ROOT, "FALHOU: p99 total de %.2f ms acima do limite de %s ms%n",
+                        report.totalP99Millis(), maxP99);
+                exitCode = 1;
+            }
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Dispara requisições por 'duration' com intervalos exponenciais de média
+     * 1/rate e espera as que ainda estiverem em andamento.
+     */
+    private static void run(HttpClient client, Workload workload, LatencyReport report, double rate,
+            Duration duration) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        AtomicInteger inFlight = new AtomicInteger();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long intended = start;
+        while (true) {
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Workload.Route route = workload.next(random);
+            HttpRequest request = workload.request(route, random);
+            long scheduled = intended;
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        boolean error = failure != null || response.statusCode() >= 400;
+                        report.record(route.name(), System.nanoTime() - scheduled, error);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        while (inFlight.get() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static String format(Duration duration) {
+        return duration.toString().substring(2).toLowerCase(Locale.ROOT);
+    }
+}
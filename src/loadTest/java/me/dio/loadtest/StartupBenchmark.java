@@ -0,0 +1,131 @@
+package me.dio.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo até a primeira requisição atendida: inicia a aplicação em um processo novo,
+ * a partir do jar extraído, e consulta GET /api/accounts até receber 200. O tempo vai
+ * do início do processo até essa resposta, o que inclui a JVM, o contexto Spring, o
+ * Hibernate e a primeira serialização.
+ *
+ * Variantes (alternadas a cada rodada):
+ * - padrão: java -jar, perfil padrão (ddl-auto=update);
+ * - rápida: AppCDS (-XX:SharedArchiveFile), código AOT (-Dspring.aot.enabled=true) e
+ *   o perfil fast-startup.
+ *
+ * Configuração (propriedades de sistema, repassadas pela task startupBenchmark):
+ * startup.java, startup.jar, startup.archive, startup.runs e startup.report-dir.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    record Variant(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        Path jar = Path.of(System.getProperty("startup.jar", "build/startup/application/application.jar"));
+        Path archive = Path.of(System.getProperty("startup.archive", "build/startup/application.jsa"));
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+        Path reportDir = Path.of(System.getProperty("startup.report-dir", "build/reports/startup"));
+
+        List<Variant> variants = List.of(
+                new Variant("padrão", List.of(), List.of()),
+                new Variant("rápida",
+                        List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"),
+                        List.of("--spring.profiles.active=fast-startup")));
+        long[][] millis = new long[variants.size()][runs];
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        Path journal = Files.createTempDirectory("startup-journal");
+        for (int run = 0; run < runs; run++) {
+            for (int v = 0; v < variants.size(); v++) {
+                millis[v][run] = timeToFirstRequest(client, java, jar, variants.get(v), journal.resolve(run + "-" + v));
+                System.out.printf("%-7s execução %d: %d ms%n", variants.get(v).name(), run + 1, millis[v][run]);
+            }
+        }
+
+        List<String> csv = new ArrayList<>(List.of("variant,runs,median_ms,min_ms,max_ms"));
+        System.out.printf("%n%-7s %10s %8s %8s%n", "", "mediana", "mín", "máx");
+        for (int v = 0; v < variants.size(); v++) {
+            long[] sorted = millis[v].clone();
+            Arrays.sort(sorted);
+            long median = sorted[runs / 2];
+            System.out.printf("%-7s %7d ms %5d ms %5d ms%n", variants.get(v).name(), median, sorted[0], sorted[runs - 1]);
+            csv.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%d",
+                    variants.get(v).name(), runs, median, sorted[0], sorted[runs - 1]));
+        }
+        Files.createDirectories(reportDir);
+        Files.write(reportDir.resolve("summary.csv"), csv);
+        System.out.printf("Resumo (summary.csv) em %s%n", reportDir.toAbsolutePath());
+    }
+
+    private static long timeToFirstRequest(HttpClient client, String java, Path jar, Variant variant, Path journal)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-jar", jar.toString(),
+                "--server.port=" + port,
+                "--app.journal.directory=" + journal,
+                "--logging.level.root=WARN"));
+        command.addAll(variant.appArgs());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/accounts")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou durante a inicialização: " + command);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Servidor ainda não está ouvindo na porta
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sem resposta em " + TIMEOUT + ": " + command);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package me.dio.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * A mistura de requisições do teste de carga: cada rota tem um peso e sabe montar
+ * uma requisição sobre os ids do Dataset. Ficam de fora as exclusões e as cargas
+ * em massa, que alterariam a massa de dados durante o teste.
+ */
+final class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Uma rota, identificada como no relatório (ex.: "GET /api/accounts/{id}").
+     */
+    record Route(String name, int weight, BiFunction<SplittableRandom, String, HttpRequest> request) {
+    }
+
+    private final List<Route> routes;
+
+    private final int[] cumulativeWeights;
+
+    private final String baseUrl;
+
+    Workload(Dataset data, String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.routes = List.of(
+                get("GET /api/application_users", 5, (random, base) ->
+                        base + "/api/application_users?after=" + after(random, data.userIds) + "&limit=20"),
+                get("GET /api/application_users?view=summary", 5, (random, base) ->
+                        base + "/api/application_users?view=summary&after=" + after(random, data.userIds) + "&limit=20"),
+                get("GET /api/application_users/{id}", 10, (random, base) ->
+                        base + "/api/application_users/" + pick(random, data.userIds)),
+                get("GET /api/application_users/{id}/dashboard", 10, (random, base) ->
+                        base + "/api/application_users/" + pick(random, data.userIds) + "/dashboard"),
+                get("GET /api/accounts", 4, (random, base) ->
+                        base + "/api/accounts?after=" + after(random, data.accountIds) + "&limit=20"),
+                get("GET /api/accounts/{id}", 10, (random, base) ->
+                        base + "/api/accounts/" + pick(random, data.accountIds)),
+                get("GET /api/cards", 3, (random, base) ->
+                        base + "/api/cards?after=" + after(random, data.cardIds) + "&limit=20"),
+                get("GET /api/cards/{id}", 5, (random, base) ->
+                        base + "/api/cards/" + pick(random, data.cardIds)),
+                get("GET /api/emprestimos", 3, (random, base) ->
+                        base + "/api/emprestimos?after=" + after(random, data.emprestimosIds) + "&limit=20"),
+                get("GET /api/emprestimos/{id}", 5, (random, base) ->
+                        base + "/api/emprestimos/" + pick(random, data.emprestimosIds)),
+                get("GET /api/news", 4, (random, base) ->
+                        base + "/api/news?after=" + after(random, data.newsIds) + "&limit=20"),
+                get("GET /api/news/{id}", 5, (random, base) ->
+                        base + "/api/news/" + pick(random, data.newsIds)),
+                get("GET /api/features", 4, (random, base) ->
+                        base + "/api/features?after=" + after(random, data.featureIds) + "&limit=20"),
+                get("GET /api/features/{id}", 5, (random, base) ->
+                        base + "/api/features/" + pick(random, data.featureIds)),
+                post("POST /api/accounts/transfers", 10, (random, base) -> {
+                    int from = random.nextInt(data.accountIds.length);
+                    int to = (from + 1 + random.nextInt(data.accountIds.length - 1)) % data.accountIds.length;
+                    return json(base + "/api/accounts/transfers", String.format(
+                            "{\"fromAccountId\":%d,\"toAccountId\":%d,\"amount\":0.01}",
+                            data.accountIds[from], data.accountIds[to]));
+                }),
+                post("POST /api/cards/authorizations", 6, (random, base) ->
+                        json(base + "/api/cards/authorizations", String.format(
+                                "{\"cardNumber\":\"%s\",\"amount\":0.01}",
+                                data.cardNumbers[random.nextInt(data.cardNumbers.length)]))),
+                post("POST /api/emprestimos/simulate", 6, (random, base) ->
+                        json(base + "/api/emprestimos/simulate", String.format(
+                                "{\"amount\":%d,\"interestRate\":1.99,\"term\":%d}",
+                                1000 * (1 + random.nextInt(50)), 12 * (1 + random.nextInt(10))))));
+
+        cumulativeWeights = new int[routes.size()];
+        int total = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            total += routes.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    Route next(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return routes.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    HttpRequest request(Route route, SplittableRandom random) {
+        return route.request().apply(random, baseUrl);
+    }
+
+    private static Route get(String name, int weight, BiFunction<SplittableRandom, String, String> uri) {
+        return new Route(name, weight, (random, base) -> HttpRequest.newBuilder(URI.create(uri.apply(random, base)))
+                .timeout(TIMEOUT)
+                .GET()
+                .build());
+    }
+
+    private static Route post(String name, int weight, BiFunction<SplittableRandom, String, HttpRequest> request) {
+        return new Route(name, weight, request);
+    }
+
+    private static HttpRequest json(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long pick(SplittableRandom random, long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    /** Cursor de uma página aleatória: o id anterior a um id sorteado. */
+    private static long after(SplittableRandom random, long[] ids) {
+        return pick(random, ids) - 1;
+    }
+}
@@ -0,0 +1,72 @@
+package me.dio.dominio.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Com 'app.second-level-cache.enabled=true', liga o cache de segundo nível do Hibernate
+ * sobre o JCache do Caffeine, local a cada instância. As regiões são criadas aqui, com
+ * os limites de 'app.second-level-cache.*', e o CacheManager é entregue pronto ao
+ * Hibernate; uma entidade com @Cache em uma região não configurada impede a subida.
+ *
+ * As estatísticas nativas do Caffeine ficam ligadas para GET /api/caches; as do
+ * Hibernate (acertos e faltas por região) saem nas métricas
+ * 'hibernate_second_level_cache_requests'.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.second-level-cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfiguration {
+
+    @Bean
+    CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Os CacheManagers do provedor são compartilhados por URI; um URI próprio evita
+        // que dois contextos na mesma JVM (os testes, por exemplo) dividam as regiões
+        URI uri = URI.create("hibernate-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> region : properties.regions().entrySet()) {
+            cacheManager.createCache(region.getKey(), configuration(region.getValue(), properties.defaults()));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(SecondLevelCacheProperties.Region region,
+            SecondLevelCacheProperties.Region defaults) {
+        Long maximumSize = region.maximumSize() != null ? region.maximumSize() : defaults.maximumSize();
+        Duration expireAfterWrite = region.expireAfterWrite() != null ? region.expireAfterWrite()
+                : defaults.expireAfterWrite();
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize != null ? OptionalLong.of(maximumSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(expireAfterWrite != null
+                ? OptionalLong.of(expireAfterWrite.toNanos()) : OptionalLong.empty());
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
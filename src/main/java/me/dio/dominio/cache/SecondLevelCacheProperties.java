@@ -0,0 +1,29 @@
+package me.dio.dominio.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate ('app.second-level-cache.*').
+ *
+ * @param enabled  liga o cache; desligado, toda busca por id vai ao banco
+ * @param defaults limites usados pelas regiões que não definem os seus
+ * @param regions  regiões por nome (o 'region' de @Cache nas entidades); toda região
+ *                 usada por uma entidade precisa estar aqui, senão a inicialização falha
+ */
+@ConfigurationProperties("app.second-level-cache")
+public record SecondLevelCacheProperties(
+        boolean enabled,
+        @DefaultValue Region defaults,
+        @DefaultValue Map<String, Region> regions) {
+
+    /**
+     * @param maximumSize      quantidade máxima de entradas; acima dela, as menos usadas saem
+     * @param expireAfterWrite tempo de vida de uma entrada desde a última gravação
+     */
+    public record Region(Long maximumSize, Duration expireAfterWrite) {
+    }
+}
@@ -1,11 +1,26 @@
 package me.dio.dominio.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import me.dio.dominio.dto.AccountStats;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.dto.TransferRequest;
+import me.dio.dominio.dto.TransferResult;
 import me.dio.dominio.model.Account;
 import me.dio.dominio.service.AccountService;
+import me.dio.dominio.service.TransferService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,21 +30,75 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Account> getAllAccounts() {
-        return accountService.findAll();
+    public List<Account> getAllAccounts(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (ConditionalGet.notModified(request, accountService.findCollectionVersion())) {
+            return null;
+        }
+        return accountService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllAccountsFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, accountService.findCollectionVersion())) {
+            return null;
+        }
+        return accountService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAccounts() {
+        return JsonStreaming.array(objectMapper, accountService::streamAll);
+    }
+
+    @GetMapping("/stats")
+    public AccountStats getAccountStats(@RequestParam(required = false) String agency,
+            @RequestParam(required = false) Integer top) {
+        return accountService.findStats(agency, top);
     }
 
     @GetMapping("/{id}")
-    public Optional<Account> getAccountById(@PathVariable Long id) {
+    public Optional<Account> getAccountById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.versionNotModified(request, id, accountService.findVersion(id))) {
+            return null;
+        }
         return accountService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getAccountFieldsById(@PathVariable Long id,
+            @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.versionNotModified(request, id, accountService.findVersion(id))) {
+            return null;
+        }
+        return accountService.findById(id, fields);
+    }
+
     @PostMapping
     public Account createAccount(@RequestBody Account account) {
         return accountService.save(account);
     }
 
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public List<BulkItemResult> createAccounts(HttpServletRequest request) throws IOException {
+        try (MappingIterator<Account> rows = objectMapper.readerFor(Account.class).readValues(request.getInputStream())) {
+            return accountService.saveAll(rows);
+        }
+    }
+
+    @PostMapping("/transfers")
+    public TransferResult transfer(@Valid @RequestBody TransferRequest request) {
+        return transferService.transfer(request);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteAccount(@PathVariable Long id) {
         accountService.deleteById(id);
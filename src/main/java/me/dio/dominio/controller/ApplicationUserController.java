@@ -1,11 +1,19 @@
 package me.dio.dominio.controller;
 
+import me.dio.dominio.dto.ApplicationUserSummary;
+import me.dio.dominio.dto.BulkDeleteResult;
+import me.dio.dominio.dto.UserDashboard;
 import me.dio.dominio.model.ApplicationUser;
 import me.dio.dominio.service.ApplicationUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,9 +23,35 @@ public class ApplicationUserController {
     @Autowired
     private ApplicationUserService applicationUserService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<ApplicationUser> getAllApplicationUsers() {
-        return applicationUserService.findAll();
+    public List<ApplicationUser> getAllApplicationUsers(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return applicationUserService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "view=summary")
+    public List<ApplicationUserSummary> getApplicationUserSummaries(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return applicationUserService.findSummaryPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllApplicationUsersFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields) {
+        return applicationUserService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamApplicationUsers() {
+        return JsonStreaming.array(objectMapper, applicationUserService::streamAll);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportApplicationUsers() {
+        return JsonStreaming.ndjson(objectMapper, applicationUserService::streamAll);
     }
 
     @GetMapping("/{id}")
@@ -25,6 +59,17 @@ public class ApplicationUserController {
         return applicationUserService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getApplicationUserFieldsById(@PathVariable Long id,
+            @RequestParam List<String> fields) {
+        return applicationUserService.findById(id, fields);
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public Optional<UserDashboard> getApplicationUserDashboard(@PathVariable Long id) {
+        return applicationUserService.findDashboard(id);
+    }
+
     @PostMapping
     public ApplicationUser createApplicationUser(@RequestBody ApplicationUser applicationUser) {
         return applicationUserService.save(applicationUser);
@@ -34,4 +79,9 @@ public class ApplicationUserController {
     public void deleteApplicationUser(@PathVariable Long id) {
         applicationUserService.deleteById(id);
     }
+
+    @DeleteMapping(params = "ids")
+    public BulkDeleteResult deleteApplicationUsers(@RequestParam List<Long> ids) {
+        return applicationUserService.deleteAllById(ids);
+    }
 }
@@ -0,0 +1,47 @@
+package me.dio.dominio.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import me.dio.dominio.dto.CacheStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/caches")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectProvider<javax.cache.CacheManager> hibernateCacheManager;
+
+    @GetMapping
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        Map<String, CacheStatistics> statistics = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name).getNativeCache() instanceof Cache<?, ?> cache) {
+                statistics.put(name, statistics(cache));
+            }
+        }
+        hibernateCacheManager.ifAvailable(regions -> {
+            for (String name : regions.getCacheNames()) {
+                statistics.put(name, statistics(regions.getCache(name).unwrap(Cache.class)));
+            }
+        });
+        return statistics;
+    }
+
+    private static CacheStatistics statistics(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                cache.estimatedSize());
+    }
+}
@@ -1,11 +1,24 @@
 package me.dio.dominio.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.dto.CardAuthorization;
+import me.dio.dominio.dto.CardAuthorizationRequest;
 import me.dio.dominio.model.Card;
+import me.dio.dominio.service.CardAuthorizationService;
 import me.dio.dominio.service.CardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,9 +28,27 @@ public class CardController {
     @Autowired
     private CardService cardService;
 
+    @Autowired
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Card> getAllCards() {
-        return cardService.findAll();
+    public List<Card> getAllCards(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return cardService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllCardsFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields) {
+        return cardService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCards() {
+        return JsonStreaming.array(objectMapper, cardService::streamAll);
     }
 
     @GetMapping("/{id}")
@@ -25,11 +56,38 @@ public class CardController {
         return cardService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getCardFieldsById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return cardService.findById(id, fields);
+    }
+
     @PostMapping
     public Card createCard(@RequestBody Card card) {
         return cardService.save(card);
     }
 
+    @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public List<BulkItemResult> createCards(HttpServletRequest request) throws IOException {
+        try (MappingIterator<Card> rows = objectMapper.readerFor(Card.class).readValues(request.getInputStream())) {
+            return cardService.saveAll(rows);
+        }
+    }
+
+    @PostMapping("/authorizations")
+    public CardAuthorization authorize(@Valid @RequestBody CardAuthorizationRequest request) {
+        return cardAuthorizationService.authorize(request);
+    }
+
+    @PostMapping("/authorizations/{authorizationId}/capture")
+    public CardAuthorization capture(@PathVariable long authorizationId) {
+        return cardAuthorizationService.capture(authorizationId);
+    }
+
+    @DeleteMapping("/authorizations/{authorizationId}")
+    public CardAuthorization release(@PathVariable long authorizationId) {
+        return cardAuthorizationService.release(authorizationId);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteCard(@PathVariable Long id) {
         cardService.deleteById(id);
@@ -0,0 +1,49 @@
+package me.dio.dominio.controller;
+
+import me.dio.dominio.dto.CollectionVersion;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * GET condicional a partir de 'updatedAt': gera um ETag fraco e o Last-Modified e
+ * responde 304 quando o cliente já tem a versão atual. Os controllers consultam
+ * só a versão (uma coluna ou max/count) antes de carregar as entidades; quando
+ * 'notModified' devolve true, o handler retorna null e nada é serializado.
+ *
+ * 'updatedAt' só tem precisão de milissegundos no ETag, então duas gravações no
+ * mesmo milissegundo podem gerar o mesmo ETag; entidades com @Version (Account)
+ * usam a versão da linha, que muda a cada gravação, e não enviam Last-Modified.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(WebRequest request, Long id, Optional<LocalDateTime> updatedAt) {
+        return updatedAt.isPresent()
+                && request.checkNotModified(etag(id + "-" + millis(updatedAt.get())), millis(updatedAt.get()));
+    }
+
+    static boolean versionNotModified(WebRequest request, Long id, Optional<Long> version) {
+        return version.isPresent() && request.checkNotModified(etag(id + "-v" + version.get()));
+    }
+
+    static boolean notModified(WebRequest request, CollectionVersion version) {
+        if (version.lastModified() == null) {
+            return request.checkNotModified(etag("empty"));
+        }
+        long lastModified = millis(version.lastModified());
+        return request.checkNotModified(etag(version.count() + "-" + lastModified), lastModified);
+    }
+
+    private static String etag(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,37 @@
+package me.dio.dominio.controller;
+
+import me.dio.dominio.monitoring.SlowQueryRecorder;
+import me.dio.dominio.monitoring.VirtualThreadPinningMonitor;
+import me.dio.dominio.monitoring.VirtualThreadPinningMonitor.PinnedSite;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    @Autowired
+    private ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Autowired
+    private ObjectProvider<SlowQueryRecorder> slowQueryRecorder;
+
+    @GetMapping("/virtual-threads/pinning")
+    public List<PinnedSite> getVirtualThreadPinning() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return monitor == null ? List.of() : monitor.report();
+    }
+
+    @GetMapping("/slow-queries")
+    public SlowQueryRecorder.Report getSlowQueries(@RequestParam(defaultValue = "10") int limit) {
+        SlowQueryRecorder recorder = slowQueryRecorder.getIfAvailable();
+        return recorder == null ? new SlowQueryRecorder.Report(0, 0, Map.of()) : recorder.report(limit);
+    }
+}
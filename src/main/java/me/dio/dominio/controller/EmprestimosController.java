@@ -1,11 +1,19 @@
 package me.dio.dominio.controller;
 
+import jakarta.validation.Valid;
+import me.dio.dominio.dto.LoanSimulation;
+import me.dio.dominio.dto.LoanSimulationRequest;
 import me.dio.dominio.model.Emprestimos;
 import me.dio.dominio.service.EmprestimosService;
+import me.dio.dominio.service.LoanSimulationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,9 +23,27 @@ public class EmprestimosController {
     @Autowired
     private EmprestimosService emprestimosService;
 
+    @Autowired
+    private LoanSimulationService loanSimulationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Emprestimos> getAllEmprestimos() {
-        return emprestimosService.findAll();
+    public List<Emprestimos> getAllEmprestimos(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return emprestimosService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllEmprestimosFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields) {
+        return emprestimosService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamEmprestimos() {
+        return JsonStreaming.array(objectMapper, emprestimosService::streamAll);
     }
 
     @GetMapping("/{id}")
@@ -25,11 +51,21 @@ public class EmprestimosController {
         return emprestimosService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getEmprestimosFieldsById(@PathVariable Long id, @RequestParam List<String> fields) {
+        return emprestimosService.findById(id, fields);
+    }
+
     @PostMapping
     public Emprestimos createEmprestimos(@RequestBody Emprestimos emprestimos) {
         return emprestimosService.save(emprestimos);
     }
 
+    @PostMapping("/simulate")
+    public LoanSimulation simulate(@Valid @RequestBody LoanSimulationRequest request) {
+        return loanSimulationService.simulate(request);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteEmprestimos(@PathVariable Long id) {
         emprestimosService.deleteById(id);
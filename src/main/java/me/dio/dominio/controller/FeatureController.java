@@ -1,11 +1,17 @@
 package me.dio.dominio.controller;
 
+import me.dio.dominio.dto.BulkDeleteResult;
 import me.dio.dominio.model.Feature;
 import me.dio.dominio.service.FeatureService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,16 +21,49 @@ public class FeatureController {
     @Autowired
     private FeatureService featureService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Feature> getAllFeatures() {
-        return featureService.findAll();
+    public List<Feature> getAllFeatures(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (ConditionalGet.notModified(request, featureService.findCollectionVersion())) {
+            return null;
+        }
+        return featureService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllFeaturesFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, featureService.findCollectionVersion())) {
+            return null;
+        }
+        return featureService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamFeatures() {
+        return JsonStreaming.array(objectMapper, featureService::streamAll);
     }
 
     @GetMapping("/{id}")
-    public Optional<Feature> getFeatureById(@PathVariable Long id) {
+    public Optional<Feature> getFeatureById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, id, featureService.findUpdatedAt(id))) {
+            return null;
+        }
         return featureService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getFeatureFieldsById(@PathVariable Long id,
+            @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, id, featureService.findUpdatedAt(id))) {
+            return null;
+        }
+        return featureService.findById(id, fields);
+    }
+
     @PostMapping
     public Feature createFeature(@RequestBody Feature feature) {
         return featureService.save(feature);
@@ -34,4 +73,9 @@ public class FeatureController {
     public void deleteFeature(@PathVariable Long id) {
         featureService.deleteById(id);
     }
+
+    @DeleteMapping(params = "ids")
+    public BulkDeleteResult deleteFeatures(@RequestParam List<Long> ids) {
+        return featureService.deleteAllById(ids);
+    }
 }
@@ -1,11 +1,17 @@
 package me.dio.dominio.controller;
 
+import me.dio.dominio.dto.BulkDeleteResult;
 import me.dio.dominio.model.News;
 import me.dio.dominio.service.NewsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,16 +21,49 @@ public class NewsController {
     @Autowired
     private NewsService newsService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<News> getAllNews() {
-        return newsService.findAll();
+    public List<News> getAllNews(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (ConditionalGet.notModified(request, newsService.findCollectionVersion())) {
+            return null;
+        }
+        return newsService.findPage(after, limit);
+    }
+
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getAllNewsFields(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, newsService.findCollectionVersion())) {
+            return null;
+        }
+        return newsService.findPage(after, limit, fields);
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamNews() {
+        return JsonStreaming.array(objectMapper, newsService::streamAll);
     }
 
     @GetMapping("/{id}")
-    public Optional<News> getNewsById(@PathVariable Long id) {
+    public Optional<News> getNewsById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalGet.notModified(request, id, newsService.findUpdatedAt(id))) {
+            return null;
+        }
         return newsService.findById(id);
     }
 
+    @GetMapping(path = "/{id}", params = "fields")
+    public Optional<Map<String, Object>> getNewsFieldsById(@PathVariable Long id,
+            @RequestParam List<String> fields, WebRequest request) {
+        if (ConditionalGet.notModified(request, id, newsService.findUpdatedAt(id))) {
+            return null;
+        }
+        return newsService.findById(id, fields);
+    }
+
     @PostMapping
     public News createNews(@RequestBody News news) {
         return newsService.save(news);
@@ -34,4 +73,9 @@ public class NewsController {
     public void deleteNews(@PathVariable Long id) {
         newsService.deleteById(id);
     }
+
+    @DeleteMapping(params = "ids")
+    public BulkDeleteResult deleteNews(@RequestParam List<Long> ids) {
+        return newsService.deleteAllById(ids);
+    }
 }
@@ -0,0 +1,28 @@
+package me.dio.dominio.datasource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * O perfil 'fast-startup' recria as tabelas a cada início ('ddl-auto=create'), o que
+ * só serve para o H2 em memória. Com qualquer outro banco a aplicação não sobe: a
+ * verificação roda antes da criação dos beans, então nenhum DDL chega a ser executado.
+ */
+public class FastStartupDatabaseCheck implements EnvironmentPostProcessor {
+
+    private static final String PROFILE = "fast-startup";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.acceptsProfiles(Profiles.of(PROFILE))) {
+            return;
+        }
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (!url.startsWith("jdbc:h2:mem:")) {
+            throw new IllegalStateException("O perfil '" + PROFILE + "' recria as tabelas a cada início e só pode "
+                    + "ser usado com o H2 em memória (jdbc:h2:mem:...), mas spring.datasource.url é '" + url + "'");
+        }
+    }
+}
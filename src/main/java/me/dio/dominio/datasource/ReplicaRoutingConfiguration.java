@@ -0,0 +1,97 @@
+package me.dio.dominio.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Com 'app.datasource.routing.enabled=true', substitui o DataSource do Spring Boot
+ * por um pool para o primário ('spring.datasource.*') e um para cada réplica, todos
+ * com as opções de 'spring.datasource.hikari.*', atrás de ReplicaRoutingDataSource.
+ * Os pools se chamam 'primary', 'replica-1', ..., nomes que aparecem nas métricas
+ * 'hikaricp_*'.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaPools pools, ReplicaRoutingProperties routing) {
+        String header = routing.clientHeader();
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(pools.primary(),
+                List.copyOf(pools.replicas()), routing.readYourWritesWindow(), () -> currentClient(header));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    ReplicaPools replicaPools(DataSourceProperties primary, ReplicaRoutingProperties routing, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primaryPool = pool(binder, meterRegistry, "primary", primary.determineUrl(),
+                primary.determineUsername(), primary.determinePassword());
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : routing.replicas()) {
+            HikariDataSource pool = pool(binder, meterRegistry, "replica-" + (replicaPools.size() + 1), replica.url(),
+                    StringUtils.hasText(replica.username()) ? replica.username() : primary.determineUsername(),
+                    StringUtils.hasText(replica.username()) ? replica.password() : primary.determinePassword());
+            pool.setReadOnly(true);
+            replicaPools.add(pool);
+        }
+        return new ReplicaPools(primaryPool, replicaPools);
+    }
+
+    /**
+     * Os pools ficam em um bean próprio, fora do proxy do DataSource, para que o Spring
+     * os feche no desligamento, depois do DataSource e do JPA que dependem deles.
+     */
+    record ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            replicas.forEach(HikariDataSource::close);
+            primary.close();
+        }
+    }
+
+    private static HikariDataSource pool(Binder binder, ObjectProvider<MeterRegistry> meterRegistry, String name,
+            String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        return pool;
+    }
+
+    private static String currentClient(String header) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String client = request.getHeader(header);
+            return client != null ? client : request.getRemoteAddr();
+        }
+        return null;
+    }
+}
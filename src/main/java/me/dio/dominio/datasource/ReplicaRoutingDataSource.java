@@ -0,0 +1,151 @@
+package me.dio.dominio.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Escolhe o banco de cada conexão: transações somente leitura vão para as réplicas,
+ * em rodízio; todo o resto vai para o primário.
+ *
+ * Depois que um cliente confirma uma transação de escrita, as leituras dele ficam
+ * no primário durante 'readYourWritesWindow', para que não leia de uma réplica
+ * atrasada um estado anterior ao que acabou de gravar. Só contam as transações que
+ * de fato executaram alguma escrita: conexões fora de transação (ex.: consultas de
+ * repositório sem @Transactional) e transações que só leram vão para o primário sem
+ * afetar as leituras seguintes do cliente.
+ *
+ * A decisão depende de a transação já estar marcada como somente leitura, então
+ * esta classe deve ser usada atrás de um LazyConnectionDataSourceProxy, que só
+ * obtém a conexão real na primeira instrução. Quem cria a instância chama
+ * afterPropertiesSet() e continua dono dos DataSources de destino.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Supplier<String> clientId;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow,
+            Supplier<String> clientId) {
+        this.clientId = clientId;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + (i + 1);
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String client = clientId.get();
+        if (replicaKeys.isEmpty() || (client != null && recentWriters.getIfPresent(client) != null)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    /**
+     * Em uma transação de escrita, devolve a conexão embrulhada para observar as
+     * instruções: o cliente só passa a ler do primário se a transação executou algum
+     * INSERT, UPDATE ou DELETE e chegou ao commit.
+     */
+    private Connection trackWrites(Connection connection) {
+        String client = clientId.get();
+        if (client == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        WriteTracker tracker = new WriteTracker(client);
+        TransactionSynchronizationManager.registerSynchronization(tracker);
+        return (Connection) proxy(Connection.class, connection, (method, result) -> {
+            if (result instanceof Statement statement) {
+                return proxy(method.getReturnType(), statement, tracker::observe);
+            }
+            return result;
+        });
+    }
+
+    private static Object proxy(Class<?> type, Object target, BiFunction<Method, Object, Object> after) {
+        return Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    try {
+                        return after.apply(method, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private final class WriteTracker implements TransactionSynchronization {
+
+        private final String client;
+
+        private boolean wrote;
+
+        WriteTracker(String client) {
+            this.client = client;
+        }
+
+        /** Conta como escrita toda execução que devolve contagem de linhas em vez de ResultSet. */
+        Object observe(Method method, Object result) {
+            switch (method.getName()) {
+                case "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> wrote = true;
+                case "execute" -> wrote |= Boolean.FALSE.equals(result);
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (wrote) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+}
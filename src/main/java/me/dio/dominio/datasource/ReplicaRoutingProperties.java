@@ -0,0 +1,27 @@
+package me.dio.dominio.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração do roteamento leitura/escrita ('app.datasource.routing.*').
+ *
+ * @param enabled               liga o roteamento; desligado, vale só 'spring.datasource'
+ * @param replicas              réplicas de leitura; usuário e senha vazios herdam os do primário
+ * @param readYourWritesWindow  por quanto tempo, depois de uma escrita, as leituras do
+ *                              mesmo cliente continuam no primário (atraso de replicação)
+ * @param clientHeader          cabeçalho que identifica o cliente; sem ele, vale o IP
+ */
+@ConfigurationProperties("app.datasource.routing")
+public record ReplicaRoutingProperties(
+        boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("2s") Duration readYourWritesWindow,
+        @DefaultValue("X-Client-Id") String clientHeader) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
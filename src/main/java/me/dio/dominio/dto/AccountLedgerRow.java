@@ -0,0 +1,10 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * As colunas de 'tb_account' mantidas pelo AccountLedger, lidas na inicialização
+ * sem carregar as entidades.
+ */
+public record AccountLedgerRow(Long id, String agency, BigDecimal balance, BigDecimal creditLimit, long version) {
+}
@@ -0,0 +1,24 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Totais das contas ('GET /api/accounts/stats'): o geral (ou o da agência pedida),
+ * um por agência e as contas de maior saldo. Saldo mínimo e máximo ficam nulos
+ * quando não há contas.
+ */
+public record AccountStats(Totals total, List<Totals> agencies, List<RankedAccount> top) {
+
+    public record Totals(
+            String agency,
+            long accounts,
+            BigDecimal balance,
+            BigDecimal minBalance,
+            BigDecimal maxBalance,
+            BigDecimal creditLimit) {
+    }
+
+    public record RankedAccount(Long id, String agency, BigDecimal balance) {
+    }
+}
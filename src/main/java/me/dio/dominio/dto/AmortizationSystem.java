@@ -0,0 +1,11 @@
+package me.dio.dominio.dto;
+
+/**
+ * Sistemas de amortização suportados pela simulação de empréstimo.
+ * PRICE: parcelas iguais (Tabela Price). SAC: amortização constante e parcelas
+ * decrescentes.
+ */
+public enum AmortizationSystem {
+    PRICE,
+    SAC
+}
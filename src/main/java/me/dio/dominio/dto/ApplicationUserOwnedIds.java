@@ -0,0 +1,8 @@
+package me.dio.dominio.dto;
+
+/**
+ * Os ids da conta, do cartão e do empréstimo de um usuário (nulos quando ausentes),
+ * usados para excluí-los junto com o usuário na exclusão em massa.
+ */
+public record ApplicationUserOwnedIds(Long userId, Long accountId, Long cardId, Long emprestimosId) {
+}
@@ -0,0 +1,17 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Visão resumida de um usuário ("view=summary"), montada diretamente pela consulta
+ * JPQL com expressão de construtor: uma única instrução SQL por página, sem
+ * carregar entidades nem as listas de features e news.
+ */
+public record ApplicationUserSummary(
+        Long id,
+        String name,
+        String accountNumber,
+        String agency,
+        BigDecimal balance,
+        String cardNumber) {
+}
@@ -0,0 +1,8 @@
+package me.dio.dominio.dto;
+
+/**
+ * Resultado de uma exclusão em massa (DELETE ?ids=...): quantos ids foram
+ * informados e quantas linhas existiam e foram excluídas.
+ */
+public record BulkDeleteResult(int requested, int deleted) {
+}
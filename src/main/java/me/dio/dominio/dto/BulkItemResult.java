@@ -0,0 +1,24 @@
+package me.dio.dominio.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma linha enviada para um endpoint de carga em massa (/bulk).
+ * 'index' é a posição da linha na requisição (começando em 0); 'id' só é
+ * preenchido quando a linha foi gravada.
+ */
+public record BulkItemResult(int index, Status status, Long id, List<String> errors) {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, List.of());
+    }
+
+    public static BulkItemResult rejected(int index, List<String> errors) {
+        return new BulkItemResult(index, Status.REJECTED, null, errors);
+    }
+}
@@ -0,0 +1,7 @@
+package me.dio.dominio.dto;
+
+/**
+ * Contadores de um cache em memória desde a inicialização da aplicação.
+ */
+public record CacheStatistics(long hits, long misses, double hitRate, long evictions, long size) {
+}
@@ -0,0 +1,22 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Situação de uma autorização de compra e o limite disponível do cartão logo
+ * após a operação. 'authorizationId' é nulo quando a compra foi recusada.
+ */
+public record CardAuthorization(
+        Long authorizationId,
+        Status status,
+        String cardNumber,
+        BigDecimal amount,
+        BigDecimal availableLimit) {
+
+    public enum Status {
+        APPROVED,
+        DECLINED,
+        CAPTURED,
+        RELEASED
+    }
+}
@@ -0,0 +1,21 @@
+package me.dio.dominio.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Pedido de autorização de compra ('POST /api/cards/authorizations').
+ */
+public record CardAuthorizationRequest(
+        @NotNull(message = "O número do cartão não pode ser nulo")
+        @Size(min = 16, max = 16, message = "O número do cartão deve ter 16 caracteres")
+        String cardNumber,
+        @NotNull(message = "O valor não pode ser nulo")
+        @DecimalMin(value = "0.01", message = "O valor deve ser de pelo menos 0.01")
+        @Digits(integer = 11, fraction = 2, message = "O valor deve ter no máximo 2 casas decimais")
+        BigDecimal amount) {
+}
@@ -0,0 +1,11 @@
+package me.dio.dominio.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão de uma coleção inteira: o 'updatedAt' mais recente e a quantidade de
+ * linhas. Qualquer inclusão, alteração ou exclusão muda pelo menos um dos dois.
+ * 'lastModified' é nulo quando a tabela está vazia.
+ */
+public record CollectionVersion(LocalDateTime lastModified, long count) {
+}
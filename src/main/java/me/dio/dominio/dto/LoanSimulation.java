@@ -0,0 +1,25 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado de uma simulação de empréstimo: totais e o cronograma de parcelas.
+ */
+public record LoanSimulation(
+        AmortizationSystem system,
+        BigDecimal amount,
+        BigDecimal interestRate,
+        int term,
+        BigDecimal totalPaid,
+        BigDecimal totalInterest,
+        List<Installment> installments) {
+
+    public record Installment(
+            int number,
+            BigDecimal payment,
+            BigDecimal interest,
+            BigDecimal amortization,
+            BigDecimal balance) {
+    }
+}
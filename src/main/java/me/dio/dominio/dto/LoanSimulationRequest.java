@@ -0,0 +1,45 @@
+package me.dio.dominio.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Pedido de simulação ('POST /api/emprestimos/simulate'): os mesmos campos de
+ * Emprestimos ('amount' e 'interestRate', em % ao mês) mais o prazo em meses.
+ * Sem 'system', a simulação usa a Tabela Price.
+ */
+public record LoanSimulationRequest(
+        @NotNull(message = "O valor não pode ser nulo")
+        @DecimalMin(value = "0.01", message = "O valor deve ser de pelo menos 0.01")
+        @DecimalMax(value = "999999999.99", message = "O valor deve ser no máximo 999999999.99")
+        @Digits(integer = 9, fraction = 2, message = "O valor deve ter no máximo 2 casas decimais")
+        BigDecimal amount,
+        @NotNull(message = "A taxa de juros não pode ser nula")
+        @DecimalMin(value = "0.00", message = "A taxa de juros não pode ser negativa")
+        @DecimalMax(value = "100.00", message = "A taxa de juros deve ser no máximo 100% ao mês")
+        @Digits(integer = 3, fraction = 2, message = "A taxa de juros deve ter no máximo 2 casas decimais")
+        BigDecimal interestRate,
+        @NotNull(message = "O prazo não pode ser nulo")
+        @Min(value = 1, message = "O prazo deve ser de pelo menos 1 mês")
+        @Max(value = 480, message = "O prazo deve ser de no máximo 480 meses")
+        Integer term,
+        AmortizationSystem system) {
+
+    /**
+     * Chave do cache de simulações. Valor e taxa são normalizados (centavos e
+     * centésimos de ponto percentual) para que "1000", "1000.0" e "1000.00" caiam
+     * na mesma entrada; a validação já recusa mais de 2 casas, então nada é arredondado.
+     */
+    public record Key(long amountCents, long rateHundredths, int term, AmortizationSystem system) {
+    }
+
+    public Key cacheKey() {
+        return new Key(
+                amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+                interestRate.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+                term,
+                system == null ? AmortizationSystem.PRICE : system);
+    }
+}
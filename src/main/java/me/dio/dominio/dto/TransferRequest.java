@@ -0,0 +1,19 @@
+package me.dio.dominio.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Pedido de transferência entre duas contas ('POST /api/accounts/transfers').
+ */
+public record TransferRequest(
+        @NotNull(message = "A conta de origem não pode ser nula") Long fromAccountId,
+        @NotNull(message = "A conta de destino não pode ser nula") Long toAccountId,
+        @NotNull(message = "O valor não pode ser nulo")
+        @DecimalMin(value = "0.01", message = "O valor deve ser de pelo menos 0.01")
+        @Digits(integer = 11, fraction = 2, message = "O valor deve ter no máximo 2 casas decimais")
+        BigDecimal amount) {
+}
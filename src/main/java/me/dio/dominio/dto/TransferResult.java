@@ -0,0 +1,14 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldos das duas contas logo após uma transferência concluída.
+ */
+public record TransferResult(
+        Long fromAccountId,
+        BigDecimal fromBalance,
+        Long toAccountId,
+        BigDecimal toBalance,
+        BigDecimal amount) {
+}
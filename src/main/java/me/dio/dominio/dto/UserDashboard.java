@@ -0,0 +1,29 @@
+package me.dio.dominio.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tudo o que a tela inicial do aplicativo mostra para um usuário, em uma única
+ * resposta ('GET /api/application_users/{id}/dashboard'). Conta, cartão e
+ * empréstimo vêm achatados; os campos ficam nulos quando o usuário não os tem.
+ */
+public record UserDashboard(
+        Long userId,
+        String name,
+        String accountNumber,
+        String agency,
+        BigDecimal balance,
+        BigDecimal accountCreditLimit,
+        String cardNumber,
+        BigDecimal cardAvailableLimit,
+        BigDecimal loanAmount,
+        BigDecimal loanInterestRate,
+        LocalDateTime loanDate,
+        List<Item> features,
+        List<Item> news) {
+
+    public record Item(Long id, String icon, String description) {
+    }
+}
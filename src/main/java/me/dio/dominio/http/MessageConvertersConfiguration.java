@@ -0,0 +1,80 @@
+package me.dio.dominio.http;
+
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Formatos binários negociados pelo cabeçalho Accept (e Content-Type nas gravações),
+ * todos com os mesmos módulos e configurações do ObjectMapper JSON:
+ *
+ * - application/cbor e application/x-jackson-smile para qualquer resposta;
+ * - application/x-protobuf para as entidades do modelo e listas delas
+ *   (ModelProtobufHttpMessageConverter).
+ *
+ * Os conversores de CBOR e Smile substituem os padrões do Spring MVC, na mesma
+ * posição (depois do JSON). O de Protobuf entra no fim da lista, para que clientes
+ * que aceitam qualquer formato continuem recebendo JSON.
+ *
+ * Como o corpo de '/api/**' depende do Accept, as respostas (inclusive os 304 de
+ * ConditionalGet, que usam o mesmo ETag para todos os formatos) levam 'Vary: Accept'
+ * para que caches intermediários guardem uma cópia por formato.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MessageConvertersConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /** Valores monetários vão como texto no Protobuf (campos string do esquema). */
+    public ModelProtobufHttpMessageConverter protobufHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new ModelProtobufHttpMessageConverter(builder.factory(new ProtobufFactory())
+                .serializerByType(BigDecimal.class, ToStringSerializer.instance)
+                .build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(protobufHttpMessageConverter(objectMapperBuilder.getObject()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,140 @@
+package me.dio.dominio.http;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import me.dio.dominio.model.*;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lê e escreve as entidades do modelo (e listas delas) em Protobuf, segundo o
+ * esquema em static/proto/dominio.proto. A codificação é feita pelo Jackson
+ * (jackson-dataformat-protobuf), com os mesmos módulos do JSON; listas vão dentro
+ * da mensagem <Entidade>List, no campo 'items'. Outros tipos de resposta não são
+ * suportados e a negociação cai para os demais formatos.
+ */
+public class ModelProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public static final String SCHEMA = "static/proto/dominio.proto";
+
+    private static final Set<Class<?>> MODEL = Set.of(Account.class, ApplicationUser.class, Card.class,
+            Emprestimos.class, Feature.class, News.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final NativeProtobufSchema schema;
+
+    private final Map<String, ProtobufSchema> messages = new ConcurrentHashMap<>();
+
+    /** 'objectMapper' deve usar uma ProtobufFactory. */
+    public ModelProtobufHttpMessageConverter(ObjectMapper objectMapper) {
+        super(PROTOBUF);
+        this.objectMapper = objectMapper;
+        try (InputStream source = new ClassPathResource(SCHEMA).getInputStream()) {
+            this.schema = ProtobufSchemaLoader.std.loadNative(source, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível carregar " + SCHEMA, e);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MODEL.contains(clazz);
+    }
+
+    /** Também para as listas, já aceitas por canWrite(Type, Class, MediaType). */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return message(javaType(type, contextClass)) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return message(javaType(type != null ? type : clazz, null)) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return read(javaType(type, contextClass), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(objectMapper.constructType(clazz), inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        JavaType javaType = javaType(type != null ? type : value.getClass(), null);
+        if (value instanceof Optional<?> optional) {
+            // Optional vazio: mensagem sem campos (corpo vazio)
+            if (optional.isEmpty()) {
+                return;
+            }
+            value = optional.get();
+        }
+        Object root = javaType.isCollectionLikeType() ? new Items<>(List.copyOf((Collection<?>) value)) : value;
+        objectMapper.writer(schema(javaType)).writeValue(outputMessage.getBody(), root);
+    }
+
+    private Object read(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
+        try {
+            if (javaType.isCollectionLikeType()) {
+                JavaType items = objectMapper.getTypeFactory().constructParametricType(Items.class, javaType.getContentType());
+                Items<?> list = objectMapper.readerFor(items).with(schema(javaType)).readValue(inputMessage.getBody());
+                return list.items() == null ? List.of() : list.items();
+            }
+            return objectMapper.readerFor(javaType).with(schema(javaType)).readValue(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Protobuf inválido: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    /** O tipo do Jackson para 'type', sem o Optional das respostas por id. */
+    private JavaType javaType(Type type, Class<?> contextClass) {
+        JavaType javaType = objectMapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+        return javaType.isReferenceType() ? javaType.getReferencedType() : javaType;
+    }
+
+    private ProtobufSchema schema(JavaType javaType) {
+        return messages.computeIfAbsent(message(javaType), schema::forType);
+    }
+
+    /** Nome da mensagem do esquema para o tipo, ou null se o tipo não faz parte do modelo. */
+    private static String message(JavaType javaType) {
+        if (javaType.isCollectionLikeType()) {
+            Class<?> element = javaType.getContentType().getRawClass();
+            return MODEL.contains(element) ? element.getSimpleName() + "List" : null;
+        }
+        return MODEL.contains(javaType.getRawClass()) ? javaType.getRawClass().getSimpleName() : null;
+    }
+
+    record Items<T>(List<T> items) {
+    }
+}
@@ -0,0 +1,99 @@
+package me.dio.dominio.journal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Um registro do journal. No arquivo, cada registro ocupa {@link #SIZE} bytes:
+ *
+ * <pre>
+ *  0  int   tipo (0 marca o fim dos registros gravados no segmento); o bit
+ *           0x100 marca registro de transação
+ *  4  long  sequência
+ * 12  long  instante (epoch millis)
+ * 20  long  id da entidade
+ * 28  long  valor em centavos (saldo/limite resultante, ou débito para CARD_DEBIT)
+ * 36  int   CRC32C dos 36 bytes anteriores
+ * </pre>
+ *
+ * Os registros de uma transação ('transactional') são gravados em sequências
+ * contíguas antes do commit e só valem se depois aparecer um COMMIT cuja faixa
+ * ('entityId' a 'cents': primeira e última sequência) os cubra; um ROLLBACK, ou a
+ * falta de marcador, os descarta.
+ */
+public record JournalEntry(long sequence, long timestamp, Kind kind, long entityId, long cents,
+        boolean transactional) {
+
+    public static final int SIZE = 40;
+
+    static final int TRANSACTIONAL = 0x100;
+
+    private static final int CHECKSUMMED = 36;
+
+    public enum Kind {
+        ACCOUNT_BALANCE(1),
+        ACCOUNT_DELETED(2),
+        CARD_LIMIT(3),
+        CARD_DEBIT(4),
+        CARD_DELETED(5),
+        COMMIT(6),
+        ROLLBACK(7);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        static Kind of(int code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static long cents(BigDecimal value) {
+        return value == null ? 0 : value.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    void write(ByteBuffer buffer, int index) {
+        buffer.putInt(index, transactional ? kind.code | TRANSACTIONAL : kind.code);
+        buffer.putLong(index + 4, sequence);
+        buffer.putLong(index + 12, timestamp);
+        buffer.putLong(index + 20, entityId);
+        buffer.putLong(index + 28, cents);
+        buffer.putInt(index + CHECKSUMMED, checksum(buffer, index));
+    }
+
+    /**
+     * Lê o registro na posição indicada; devolve null se ela estiver vazia ou se o
+     * registro estiver incompleto (gravação interrompida antes do sync).
+     */
+    static JournalEntry read(ByteBuffer buffer, int index) {
+        if (index + SIZE > buffer.limit()) {
+            return null;
+        }
+        int code = buffer.getInt(index);
+        Kind kind = Kind.of(code & ~TRANSACTIONAL);
+        if (kind == null || buffer.getInt(index + CHECKSUMMED) != checksum(buffer, index)) {
+            return null;
+        }
+        return new JournalEntry(buffer.getLong(index + 4), buffer.getLong(index + 12), kind,
+                buffer.getLong(index + 20), buffer.getLong(index + 28), (code & TRANSACTIONAL) != 0);
+    }
+
+    private static int checksum(ByteBuffer buffer, int index) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(index, CHECKSUMMED));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,62 @@
+package me.dio.dominio.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Leitura sequencial dos segmentos do journal, do mais antigo ao mais recente.
+ * Em cada segmento, a leitura para no primeiro registro vazio ou inválido.
+ */
+public final class JournalReader {
+
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private JournalReader() {
+    }
+
+    public static long read(Path directory, Consumer<JournalEntry> action) {
+        long count = 0;
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                for (int index = 0; ; index += JournalEntry.SIZE) {
+                    JournalEntry entry = JournalEntry.read(buffer, index);
+                    if (entry == null) {
+                        break;
+                    }
+                    action.accept(entry);
+                    count++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao ler o segmento " + segment, e);
+            }
+        }
+        return count;
+    }
+
+    /** Segmentos em ordem de sequência; o nome de cada um é a sua primeira sequência. */
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+}
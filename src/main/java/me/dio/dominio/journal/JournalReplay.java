@@ -0,0 +1,122 @@
+package me.dio.dominio.journal;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reconstrói saldos de conta e limites de cartão lendo o journal do início ao fim,
+ * sem consultar o banco. Uso: ./gradlew replayJournal [-PjournalDir=data/journal]
+ *
+ * Saída em CSV ('tipo,id,valor'), uma linha por conta e por cartão ainda existentes.
+ *
+ * Registros de transação ficam pendentes até o marcador da sua faixa e são aplicados
+ * na ordem das sequências: com COMMIT valem, com ROLLBACK são descartados, e os que
+ * não têm marcador ao fim da leitura (queda antes do fim da transação) também.
+ */
+public final class JournalReplay {
+
+    private final Map<Long, Long> accountBalances = new TreeMap<>();
+
+    private final Map<Long, Long> cardLimits = new TreeMap<>();
+
+    /** Registros ainda não aplicados, por sequência; à frente há um de transação sem marcador. */
+    private final TreeMap<Long, JournalEntry> pending = new TreeMap<>();
+
+    /** Faixas já marcadas: primeira sequência -> {última, 1 se COMMIT}. */
+    private final TreeMap<Long, long[]> decided = new TreeMap<>();
+
+    private long lastSequence;
+
+    private long gaps;
+
+    private long discarded;
+
+    public static void main(String[] args) {
+        Path directory = Path.of(args.length > 0 ? args[0] : "data/journal");
+        JournalReplay replay = new JournalReplay();
+        long entries = JournalReader.read(directory, replay::apply);
+        replay.finish();
+
+        System.out.println("tipo,id,valor");
+        replay.accountBalances.forEach((id, cents) -> System.out.println("account," + id + "," + BigDecimal.valueOf(cents, 2)));
+        replay.cardLimits.forEach((id, cents) -> System.out.println("card," + id + "," + BigDecimal.valueOf(cents, 2)));
+        System.err.printf("%d registros lidos de %s (última sequência %d, %d lacunas, %d descartados)%n",
+                entries, directory.toAbsolutePath(), replay.lastSequence, replay.gaps, replay.discarded);
+    }
+
+    public void apply(JournalEntry entry) {
+        if (entry.sequence() != lastSequence + 1) {
+            gaps++;
+        }
+        lastSequence = entry.sequence();
+        switch (entry.kind()) {
+            case COMMIT, ROLLBACK -> decided.put(entry.entityId(),
+                    new long[] {entry.cents(), entry.kind() == JournalEntry.Kind.COMMIT ? 1 : 0});
+            default -> pending.put(entry.sequence(), entry);
+        }
+        drain();
+    }
+
+    /** Descarta os registros de transação que ficaram sem marcador e aplica os que esperavam por eles. */
+    public void finish() {
+        drain();
+        while (!pending.isEmpty()) {
+            pending.pollFirstEntry();
+            discarded++;
+            drain();
+        }
+        decided.clear();
+    }
+
+    private void drain() {
+        while (!pending.isEmpty()) {
+            JournalEntry entry = pending.firstEntry().getValue();
+            if (entry.transactional()) {
+                Map.Entry<Long, long[]> range = decided.floorEntry(entry.sequence());
+                if (range == null || entry.sequence() > range.getValue()[0]) {
+                    return;
+                }
+                if (range.getValue()[1] == 0) {
+                    discarded++;
+                } else {
+                    applyData(entry);
+                }
+                if (entry.sequence() == range.getValue()[0]) {
+                    decided.remove(range.getKey());
+                }
+            } else {
+                applyData(entry);
+            }
+            pending.pollFirstEntry();
+        }
+    }
+
+    private void applyData(JournalEntry entry) {
+        switch (entry.kind()) {
+            case ACCOUNT_BALANCE -> accountBalances.put(entry.entityId(), entry.cents());
+            case ACCOUNT_DELETED -> accountBalances.remove(entry.entityId());
+            case CARD_LIMIT -> cardLimits.put(entry.entityId(), entry.cents());
+            case CARD_DEBIT -> cardLimits.merge(entry.entityId(), -entry.cents(), Long::sum);
+            case CARD_DELETED -> cardLimits.remove(entry.entityId());
+            case COMMIT, ROLLBACK -> { }
+        }
+    }
+
+    public Map<Long, Long> accountBalances() {
+        return accountBalances;
+    }
+
+    public Map<Long, Long> cardLimits() {
+        return cardLimits;
+    }
+
+    public long gaps() {
+        return gaps;
+    }
+
+    public long discarded() {
+        return discarded;
+    }
+}
@@ -0,0 +1,368 @@
+package me.dio.dominio.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal append-only das alterações de saldo de conta e de limite de cartão.
+ *
+ * Os registros são gravados em segmentos mapeados em memória de
+ * 'app.journal.segment-size' bytes, criados já no tamanho final; quando um enche,
+ * o próximo é aberto com o nome da sua primeira sequência. Quem grava chama
+ * {@link #sync(long)} para esperar a durabilidade: uma única thread faz o force
+ * de tudo o que foi escrito desde o último, então gravações simultâneas
+ * compartilham o mesmo fsync (group commit).
+ *
+ * Na abertura, o último segmento é percorrido até o primeiro registro inválido e
+ * a escrita continua dali; um registro cortado por queda do processo é descartado.
+ *
+ * Dentro de uma transação do banco, os registros são gravados com {@link #group}:
+ * ficam em sequências contíguas, antes do commit, e ao fim da transação um marcador
+ * COMMIT ou ROLLBACK com a faixa diz se valem. Quem lê o journal ignora grupos sem
+ * COMMIT (transação desfeita, ou queda do processo antes do fim dela).
+ */
+@Component
+public class MutationJournal implements AutoCloseable {
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition pending = lock.newCondition();
+
+    private final Condition durableChanged = lock.newCondition();
+
+    private FileChannel lockChannel;
+
+    private FileLock directoryLock;
+
+    private FileChannel channel;
+
+    private MappedByteBuffer segment;
+
+    private int position;
+
+    private int syncedPosition;
+
+    private long lastSequence;
+
+    /** Se os registros gravados agora pertencem a um grupo; protegido por 'lock'. */
+    private boolean inGroup;
+
+    private volatile long durableSequence;
+
+    private volatile boolean closed;
+
+    private Thread syncThread;
+
+    public MutationJournal(@Value("${app.journal.enabled:true}") boolean enabled,
+            @Value("${app.journal.directory:data/journal}") Path directory,
+            @Value("${app.journal.segment-size:64MB}") DataSize segmentSize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes() / JournalEntry.SIZE * JournalEntry.SIZE);
+        if (enabled) {
+            open();
+        }
+    }
+
+    public long accountBalance(long accountId, BigDecimal balance) {
+        return append(JournalEntry.Kind.ACCOUNT_BALANCE, accountId, JournalEntry.cents(balance));
+    }
+
+    public long accountDeleted(long accountId) {
+        return append(JournalEntry.Kind.ACCOUNT_DELETED, accountId, 0);
+    }
+
+    public long cardLimit(long cardId, BigDecimal limit) {
+        return append(JournalEntry.Kind.CARD_LIMIT, cardId, JournalEntry.cents(limit));
+    }
+
+    public long cardDebit(long cardId, BigDecimal amount) {
+        return append(JournalEntry.Kind.CARD_DEBIT, cardId, JournalEntry.cents(amount));
+    }
+
+    public long cardDeleted(long cardId) {
+        return append(JournalEntry.Kind.CARD_DELETED, cardId, 0);
+    }
+
+    /**
+     * Executa 'appends' (chamadas aos métodos acima) com o journal travado, para que os
+     * registros fiquem contíguos, e os marca como registros de transação. Com uma
+     * transação ativa, o marcador COMMIT ou ROLLBACK é gravado quando ela termina; sem
+     * transação, o COMMIT é gravado já. Depois do commit, {@link #sync(Group)} espera
+     * o fsync do grupo e do marcador.
+     */
+    public Group group(Runnable appends) {
+        if (!enabled) {
+            appends.run();
+            return new Group(1, 0);
+        }
+        Group group;
+        lock.lock();
+        try {
+            long first = lastSequence + 1;
+            inGroup = true;
+            try {
+                appends.run();
+            } finally {
+                inGroup = false;
+            }
+            group = new Group(first, lastSequence);
+        } finally {
+            lock.unlock();
+        }
+        if (group.isEmpty()) {
+            return group;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    group.complete(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            group.complete(true);
+        }
+        return group;
+    }
+
+    /** Espera o fsync dos registros de um grupo já confirmado e do seu COMMIT. */
+    public void sync(Group group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        if (group.marker == 0) {
+            throw new IllegalStateException("Grupo " + group.first + "-" + group.last + " sem COMMIT no journal");
+        }
+        sync(group.marker);
+    }
+
+    /** Escreve o registro no segmento atual e devolve a sua sequência, sem esperar o fsync. */
+    public long append(JournalEntry.Kind kind, long entityId, long cents) {
+        if (!enabled) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal fechado");
+            }
+            if (position + JournalEntry.SIZE > segmentSize) {
+                rotate();
+            }
+            long sequence = ++lastSequence;
+            new JournalEntry(sequence, System.currentTimeMillis(), kind, entityId, cents, inGroup).write(segment, position);
+            position += JournalEntry.SIZE;
+            pending.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Espera até que o registro com a sequência indicada esteja em disco. */
+    public void sync(long sequence) {
+        if (sequence <= durableSequence) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IllegalStateException("Journal fechado antes do sync da sequência " + sequence);
+                }
+                durableChanged.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando o sync do journal", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        if (!enabled || closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncThread.join();
+            segment.force();
+            channel.close();
+            directoryLock.release();
+            lockChannel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.lock();
+            try {
+                durableChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve("journal.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                directoryLock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                directoryLock = null;
+            }
+            if (directoryLock == null) {
+                throw new IllegalStateException("Journal em " + directory + " já está em uso");
+            }
+            List<Path> segments = JournalReader.segments(directory);
+            if (segments.isEmpty()) {
+                map(JournalReader.segmentPath(directory, 1));
+            } else {
+                recover(segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o journal em " + directory, e);
+        }
+        durableSequence = lastSequence;
+        syncThread = new Thread(this::syncLoop, "journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    private void recover(Path last) throws IOException {
+        map(last);
+        String name = last.getFileName().toString();
+        lastSequence = Long.parseLong(name.substring(0, name.length() - JournalReader.SEGMENT_SUFFIX.length())) - 1;
+        JournalEntry entry;
+        while ((entry = JournalEntry.read(segment, position)) != null) {
+            lastSequence = entry.sequence();
+            position += JournalEntry.SIZE;
+        }
+        // Descarta o que sobrou de uma gravação interrompida, para que não seja lido depois
+        for (int index = position; index < segmentSize && segment.getInt(index) != 0; index += JournalEntry.SIZE) {
+            for (int offset = 0; offset < JournalEntry.SIZE; offset += Long.BYTES) {
+                segment.putLong(index + offset, 0);
+            }
+        }
+        segment.force();
+        syncedPosition = position;
+    }
+
+    private void rotate() {
+        segment.force(syncedPosition, position - syncedPosition);
+        try {
+            channel.close();
+            map(JournalReader.segmentPath(directory, lastSequence + 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar novo segmento do journal", e);
+        }
+    }
+
+    private void map(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        position = 0;
+        syncedPosition = 0;
+    }
+
+    private void syncLoop() {
+        while (true) {
+            MappedByteBuffer buffer;
+            int from;
+            int to;
+            long target;
+            lock.lock();
+            try {
+                while (lastSequence == durableSequence && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (lastSequence == durableSequence) {
+                    return;
+                }
+                buffer = segment;
+                from = syncedPosition;
+                to = position;
+                target = lastSequence;
+                syncedPosition = position;
+            } finally {
+                lock.unlock();
+            }
+            buffer.force(from, to - from);
+            lock.lock();
+            try {
+                durableSequence = target;
+                durableChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Faixa de sequências gravada por {@link #group}; vazia quando nada foi gravado. */
+    public final class Group {
+
+        private final long first;
+
+        private final long last;
+
+        /** Sequência do marcador COMMIT, depois que a transação confirma. */
+        private volatile long marker;
+
+        private Group(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        boolean isEmpty() {
+            return first > last;
+        }
+
+        private void complete(boolean committed) {
+            long sequence = append(committed ? JournalEntry.Kind.COMMIT : JournalEntry.Kind.ROLLBACK, first, last);
+            if (committed) {
+                marker = sequence;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package me.dio.dominio.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Módulos do Jackson registrados no ObjectMapper da aplicação (o Spring Boot
+ * instala todo bean do tipo Module):
+ *
+ * - Blackbird: troca a reflexão nos getters e setters das entidades por acessores
+ *   gerados com LambdaMetafactory na primeira serialização de cada classe;
+ * - Hibernate6Module: reconhece proxies e coleções do Hibernate e escreve as
+ *   coleções não carregadas como null, em vez de disparar o lazy loading (ou uma
+ *   LazyInitializationException) durante a serialização;
+ * - fastWriters: MoneySerializer e TimestampSerializer para BigDecimal e LocalDateTime.
+ *
+ * A saída é a mesma do ObjectMapper padrão para grafos já carregados, o que é
+ * verificado em JsonSerializationTests.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JsonConfiguration {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module hibernateModule() {
+        return new Hibernate6Module()
+                .configure(Hibernate6Module.Feature.FORCE_LAZY_LOADING, false)
+                .configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+    }
+
+    @Bean
+    public Module fastWritersModule() {
+        return new SimpleModule("fastWriters")
+                .addSerializer(BigDecimal.class, new MoneySerializer())
+                .addSerializer(LocalDateTime.class, new TimestampSerializer());
+    }
+}
@@ -0,0 +1,94 @@
+package me.dio.dominio.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Escreve BigDecimal (saldos, limites, valores) direto no gerador, dígito a dígito,
+ * sem montar a String de BigDecimal.toString(). O texto gerado é o mesmo do
+ * serializador padrão do Jackson; valores fora do caso comum (escala negativa,
+ * mais de 18 dígitos, notação científica), @JsonFormat e formatos binários (CBOR,
+ * Smile, que têm codificação própria para decimais) vão para o padrão.
+ */
+final class MoneySerializer extends StdSerializer<BigDecimal> implements ContextualSerializer {
+
+    private static final NumberSerializer DEFAULT = new NumberSerializer(BigDecimal.class);
+
+    private static final int MAX_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // sinal, zero à esquerda, ponto e até 18 dígitos
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DIGITS + 3]);
+
+    MoneySerializer() {
+        super(BigDecimal.class);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && format.getShape() != JsonFormat.Shape.ANY) {
+            return DEFAULT.createContextual(provider, property);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int scale = value.scale();
+        int precision = value.precision();
+        // BigDecimal.toString só usa notação científica quando o expoente ajustado é menor que -6
+        if (!gen.canWriteFormattedNumbers()
+                || scale < 0 || scale > MAX_DIGITS || precision > MAX_DIGITS || precision - scale < -5) {
+            DEFAULT.serialize(value, gen, provider);
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        int length = format(value.unscaledValue().longValue(), scale, buffer);
+        gen.writeNumber(buffer, 0, length);
+    }
+
+    /** Escreve 'unscaled' x 10^-scale no buffer e devolve o número de caracteres. */
+    static int format(long unscaled, int scale, char[] buffer) {
+        int position = buffer.length;
+        long magnitude = Math.abs(unscaled);
+        long integer = magnitude / POWERS_OF_TEN[scale];
+        long fraction = magnitude % POWERS_OF_TEN[scale];
+        for (int i = 0; i < scale; i++) {
+            buffer[--position] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        if (scale > 0) {
+            buffer[--position] = '.';
+        }
+        do {
+            buffer[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer > 0);
+        if (unscaled < 0) {
+            buffer[--position] = '-';
+        }
+        int length = buffer.length - position;
+        System.arraycopy(buffer, position, buffer, 0, length);
+        return length;
+    }
+}
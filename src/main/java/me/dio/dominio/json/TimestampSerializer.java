@@ -0,0 +1,98 @@
+package me.dio.dominio.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Escreve LocalDateTime (createdAt, updatedAt, data do empréstimo) no formato
+ * ISO_LOCAL_DATE_TIME preenchendo um buffer de caracteres, sem passar pelo
+ * DateTimeFormatter. O resultado é o mesmo do serializador do jackson-datatype-jsr310:
+ * segundos sempre presentes e fração de segundo sem zeros à direita. Anos fora de
+ * 0..9999, datas como timestamp numérico e @JsonFormat vão para o serializador padrão.
+ */
+final class TimestampSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+
+    private static final LocalDateTimeSerializer DEFAULT = LocalDateTimeSerializer.INSTANCE;
+
+    // yyyy-MM-ddTHH:mm:ss.SSSSSSSSS
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    TimestampSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && (format.hasPattern() || format.getShape() != JsonFormat.Shape.ANY)) {
+            return DEFAULT.createContextual(provider, property);
+        }
+        return this;
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            DEFAULT.serialize(value, gen, provider);
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        gen.writeString(buffer, 0, format(value, buffer));
+    }
+
+    /** Escreve 'value' no buffer e devolve o número de caracteres. */
+    static int format(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        twoDigits(value.getMonthValue(), buffer, 5);
+        buffer[7] = '-';
+        twoDigits(value.getDayOfMonth(), buffer, 8);
+        buffer[10] = 'T';
+        twoDigits(value.getHour(), buffer, 11);
+        buffer[13] = ':';
+        twoDigits(value.getMinute(), buffer, 14);
+        buffer[16] = ':';
+        twoDigits(value.getSecond(), buffer, 17);
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        int length = 29;
+        for (int position = 28; position >= 20; position--) {
+            int digit = nano % 10;
+            nano /= 10;
+            if (digit == 0 && length == position + 1) {
+                length = position;
+            }
+            buffer[position] = digit(digit);
+        }
+        return length;
+    }
+
+    private static void twoDigits(int value, char[] buffer, int offset) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
@@ -33,6 +33,15 @@ import jakarta.validation.constraints.DecimalMin;
  * É útil para validar dados monetários ou outros valores numéricos que não devem ser negativos ou abaixo de um certo limite.
  */
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+/**
+ * Importa a anotação @Cache do Hibernate, que guarda a entidade no cache de segundo
+ * nível, as estratégias de concorrência desse cache e @ColumnDefault, que define o
+ * valor padrão de uma coluna no DDL gerado.
+ */
+
 import java.math.BigDecimal;
 
 /**
@@ -48,6 +57,14 @@ import java.math.BigDecimal;
  * corretamente.
  */
 @Entity(name = "tb_account")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
+/**
+ * A anotação @Cache guarda as contas no cache de segundo nível, região 'accounts'
+ * (configurada em 'app.second-level-cache.regions'), e a busca por id deixa de ir ao
+ * banco enquanto a entrada estiver lá. Com READ_WRITE, a entrada é bloqueada durante
+ * a gravação e substituída no commit; UPDATE e DELETE em massa limpam a região inteira.
+ */
+
 public class Account extends BaseItem {
 
     /**
@@ -88,6 +105,19 @@ public class Account extends BaseItem {
     @Column(nullable = false, precision = 13, scale = 2)
     private BigDecimal creditLimit;
 
+    /**
+     * Versão da linha, usada no controle de concorrência otimista.
+     * A anotação @Version faz o Hibernate incluir 'version' na cláusula WHERE de cada
+     * UPDATE e incrementá-la; se outra transação alterou a conta antes, o UPDATE não
+     * encontra a linha e a gravação falha em vez de sobrescrever o saldo.
+     * O default 0 permite que o 'ddl-auto=update' acrescente a coluna NOT NULL a uma
+     * 'tb_account' que já tem linhas.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // Getters and Setters
     /**
      * A seção de Getters e Setters fornece métodos públicos para acessar e
@@ -144,4 +174,12 @@ public class Account extends BaseItem {
     public void setCreditLimit(BigDecimal creditLimit) {
         this.creditLimit = creditLimit;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -9,6 +9,9 @@ package me.dio.dominio.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -26,12 +29,35 @@ import java.util.List;
  * banco de dados.
  */
 
+@NamedEntityGraph(name = ApplicationUser.FULL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("emprestimos"),
+        @NamedAttributeNode("card")
+})
+/**
+ * O plano de busca 'ApplicationUser.full' carrega as associações um para um
+ * (account, emprestimos e card) no mesmo SELECT do usuário, via JOIN.
+ * As listas 'features' e 'news' ficam fora do grafo para evitar o produto
+ * cartesiano de duas coleções; elas são carregadas em lote (@BatchSize).
+ */
+
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+/**
+ * O usuário também fica no cache de segundo nível (região 'users'). A entrada guarda
+ * só as colunas do usuário e os ids de account, emprestimos e card; ao montar o
+ * usuário a partir dela, o Hibernate resolve cada associação pela região da própria
+ * entidade ('accounts', 'emprestimos' e 'cards'), indo ao banco apenas nas faltas.
+ * As listas 'features' e 'news' não são guardadas.
+ */
+
 public class ApplicationUser {
     /**
      * Declaração da classe 'ApplicationUser' que representa um usuário da
      * aplicação.
      */
 
+    public static final String FULL_GRAPH = "ApplicationUser.full";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -78,6 +104,7 @@ public class ApplicationUser {
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @BatchSize(size = 100)
     private List<Feature> features;
     /**
      * O campo 'features' representa a associação de um para muitos com a entidade
@@ -87,6 +114,8 @@ public class ApplicationUser {
      * cascata.
      * 'fetch = FetchType.LAZY' indica que a coleção é carregada sob demanda.
      * A anotação @JoinColumn especifica a coluna de junção.
+     * '@BatchSize(size = 100)' carrega as coleções de até 100 usuários em um único
+     * SELECT, o mesmo tamanho máximo de página das listagens.
      */
 
     @OneToOne(cascade = CascadeType.ALL)
@@ -102,6 +131,7 @@ public class ApplicationUser {
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @BatchSize(size = 100)
     private List<News> news;
     /**
      * O campo 'news' representa a associação de um para muitos com a entidade
@@ -111,6 +141,8 @@ public class ApplicationUser {
      * cascata.
      * 'fetch = FetchType.LAZY' indica que a coleção é carregada sob demanda.
      * A anotação @JoinColumn especifica a coluna de junção.
+     * '@BatchSize(size = 100)' carrega as coleções de até 100 usuários em um único
+     * SELECT, o mesmo tamanho máximo de página das listagens.
      */
 
     // Getters and Setters
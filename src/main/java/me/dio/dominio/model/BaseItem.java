@@ -32,14 +32,15 @@ public abstract class BaseItem {
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     protected Long id;
     /**
-     * O campo 'id' é a chave primária da entidade, gerada automaticamente pelo
-     * banco de dados.
+     * O campo 'id' é a chave primária da entidade, gerada automaticamente a partir
+     * de uma sequence do banco de dados (uma por entidade, ex.: 'tb_account_seq').
      * A anotação @Id indica que este campo é a chave primária.
-     * A anotação @GeneratedValue com 'strategy = GenerationType.IDENTITY' indica
-     * que o valor é gerado pelo banco de dados.
+     * A anotação @GeneratedValue com 'strategy = GenerationType.SEQUENCE' reserva
+     * blocos de ids (pooled), o que permite ao Hibernate agrupar os INSERTs em lotes
+     * JDBC; com IDENTITY cada INSERT precisaria ser executado isoladamente.
      */
 
     @NotNull
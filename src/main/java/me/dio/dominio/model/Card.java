@@ -33,6 +33,15 @@ import jakarta.validation.constraints.DecimalMin;
  * É útil para validar dados monetários ou outros valores numéricos que não devem ser negativos ou abaixo de um certo limite.
  */
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+/**
+ * Importa a anotação @Cache do Hibernate, que guarda a entidade no cache de segundo
+ * nível, as estratégias de concorrência desse cache e @ColumnDefault, que define o
+ * valor padrão de uma coluna no DDL gerado.
+ */
+
 import java.math.BigDecimal;
 
 /**
@@ -48,18 +57,27 @@ import java.math.BigDecimal;
  * O parâmetro 'name' especifica o nome da tabela no banco de dados.
  */
 
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
+/**
+ * A anotação @Cache guarda os cartões no cache de segundo nível, região 'cards'.
+ * O débito das autorizações capturadas é gravado pela própria entidade, travada
+ * com CardRepository.lockById, então o commit atualiza só a entrada do cartão
+ * debitado em vez de limpar a região inteira.
+ */
+
 public class Card {
     /**
      * Declaração da classe 'Card', que representa um cartão no sistema.
      */
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     /**
      * A anotação @Id indica que o campo 'id' é a chave primária da tabela.
      * 
-     * @GeneratedValue com a estratégia 'IDENTITY' indica que o valor do campo será
-     *                 gerado automaticamente pelo banco de dados.
+     * @GeneratedValue com a estratégia 'SEQUENCE' indica que o valor do campo será
+     *                 gerado a partir da sequence 'tb_card_seq', reservada em
+     *                 blocos, o que permite INSERTs em lote (JDBC batching).
      */
     private Long id;
 
@@ -91,12 +109,26 @@ public class Card {
      */
     private BigDecimal creditLimit;
 
+    /**
+     * Versão da linha, usada no controle de concorrência otimista.
+     * O débito das compras capturadas também altera 'available_limit', então uma
+     * gravação feita a partir de um cartão lido antes do débito falha com conflito em
+     * vez de sobrescrever o limite e apagar o débito.
+     * O default 0 permite que o 'ddl-auto=update' acrescente a coluna NOT NULL a uma
+     * 'tb_card' que já tem linhas.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     // Getters and Setters
     /**
      * Métodos 'getId' e 'setId' para acessar e modificar o campo 'id'.
      * Métodos 'getNumber' e 'setNumber' para acessar e modificar o campo 'number'.
      * Métodos 'getCreditLimit' e 'setCreditLimit' para acessar e modificar o campo
      * 'creditLimit'.
+     * Métodos 'getVersion' e 'setVersion' para acessar e modificar o campo 'version'.
      */
     public Long getId() {
         return id;
@@ -121,4 +153,12 @@ public class Card {
     public void setCreditLimit(BigDecimal creditLimit) {
         this.creditLimit = creditLimit;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
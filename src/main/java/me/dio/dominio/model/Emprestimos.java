@@ -26,6 +26,13 @@ import jakarta.validation.constraints.DecimalMin;
  * É útil para validar dados monetários ou outros valores numéricos que não devem ser negativos ou abaixo de um certo limite.
  */
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+/**
+ * Importa a anotação @Cache do Hibernate, que guarda a entidade no cache de segundo
+ * nível, e as estratégias de concorrência desse cache.
+ */
+
 import java.math.BigDecimal;
 /**
  * Importa a classe BigDecimal da biblioteca padrão de Java.
@@ -47,6 +54,13 @@ import java.time.LocalDateTime;
  * O parâmetro 'name' especifica o nome da tabela no banco de dados.
  */
 
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "emprestimos")
+/**
+ * A anotação @Cache guarda os empréstimos no cache de segundo nível, região
+ * 'emprestimos', com tamanho e expiração definidos em
+ * 'app.second-level-cache.regions.emprestimos'.
+ */
+
 public class Emprestimos {
     /**
      * Declaração da classe 'Emprestimos', que representa um empréstimo no sistema.
@@ -0,0 +1,39 @@
+package me.dio.dominio.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Guarda, na thread atual, qual método de repositório está em execução, para que o
+ * SlowQueryRecorder agrupe as instruções SQL pelo repositório que as disparou.
+ * Instruções executadas fora de um repositório (o flush no commit, por exemplo)
+ * ficam sem repositório.
+ */
+final class RepositoryContext implements MethodInterceptor {
+
+    private static final ThreadLocal<Caller> CURRENT = new ThreadLocal<>();
+
+    private final String repository;
+
+    RepositoryContext(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    record Caller(String repository, String method) {
+    }
+
+    static Caller current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Caller previous = CURRENT.get();
+        CURRENT.set(new Caller(repository, invocation.getMethod().getName()));
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
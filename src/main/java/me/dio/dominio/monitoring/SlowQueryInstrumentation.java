@@ -0,0 +1,48 @@
+package me.dio.dominio.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Liga o SlowQueryRecorder à aplicação: envolve os DataSources com o proxy do
+ * datasource-proxy, que cronometra cada instrução, e acrescenta aos repositórios
+ * do Spring Data o RepositoryContext, que identifica o repositório de cada uma.
+ */
+@Component
+@ConditionalOnProperty(name = "app.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryInstrumentation implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryRecorder> recorder;
+
+    public SlowQueryInstrumentation(ObjectProvider<SlowQueryRecorder> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+            repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory
+                            .addAdvice(new RepositoryContext(information.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(recorder.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
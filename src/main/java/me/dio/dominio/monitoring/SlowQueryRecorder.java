@@ -0,0 +1,203 @@
+package me.dio.dominio.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Log de consultas lentas, no lugar do 'spring.jpa.show-sql'. Cada instrução SQL é
+ * cronometrada na thread da requisição, mas só as que passam do limite configurado
+ * (ou caem na amostragem) são enfileiradas; a fila é limitada e, quando cheia, as
+ * entradas são descartadas em vez de segurar a requisição.
+ *
+ * Uma thread própria esvazia a fila, escreve o log e agrega as instruções pelo SQL
+ * normalizado (literais e listas de IN trocados por '?') e pelo repositório que as
+ * disparou. O resumo fica disponível em GET /api/diagnostics/slow-queries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryRecorder implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    static final String OUTSIDE_REPOSITORY = "(fora de repositório)";
+
+    private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final BlockingQueue<Execution> queue;
+
+    private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private Thread writer;
+
+    private volatile boolean running = true;
+
+    public SlowQueryRecorder(@Value("${app.slow-queries.threshold:100ms}") Duration threshold,
+            @Value("${app.slow-queries.sample-rate:0.0}") double sampleRate,
+            @Value("${app.slow-queries.queue-capacity:10000}") int queueCapacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * As instruções de um mesmo SQL normalizado disparadas por um método de repositório.
+     */
+    public record QueryStats(String method, String sql, long count, long slowCount, double totalMillis,
+            double maxMillis) {
+    }
+
+    /**
+     * O resumo por repositório, com as instruções de maior tempo total primeiro.
+     * 'recorded' e 'dropped' contam as entradas aceitas e as descartadas com a fila cheia.
+     */
+    public record Report(long recorded, long dropped, Map<String, List<QueryStats>> repositories) {
+    }
+
+    private record Execution(RepositoryContext.Caller caller, String sql, long nanos, int batchSize, boolean slow) {
+    }
+
+    private record Key(String repository, String method, String sql) {
+    }
+
+    @PostConstruct
+    void start() {
+        writer = Thread.ofPlatform().name("slow-query-log").daemon().start(this::drain);
+        log.info("Registrando instruções SQL acima de {} ms (amostragem de {}%)",
+                Duration.ofNanos(thresholdNanos).toMillis(), sampleRate * 100);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STARTED.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - STARTED.get()[0];
+        boolean slow = nanos >= thresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        Execution execution = new Execution(RepositoryContext.current(), queryInfoList.get(0).getQuery(), nanos,
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0, slow);
+        if (!queue.offer(execution)) {
+            dropped.increment();
+        }
+    }
+
+    public Report report(int limit) {
+        Map<String, List<QueryStats>> repositories = new TreeMap<>();
+        stats.forEach((key, value) -> repositories
+                .computeIfAbsent(key.repository(), repository -> new ArrayList<>())
+                .add(value.snapshot(key)));
+        repositories.replaceAll((repository, entries) -> entries.stream()
+                .sorted(Comparator.comparingDouble(QueryStats::totalMillis).reversed())
+                .limit(limit)
+                .toList());
+        long recorded = stats.values().stream().mapToLong(value -> value.count.sum()).sum();
+        return new Report(recorded, dropped.sum(), repositories);
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private void drain() {
+        List<Execution> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                } else {
+                    continue;
+                }
+            }
+            queue.drainTo(batch);
+            batch.forEach(this::record);
+            batch.clear();
+        }
+    }
+
+    private void record(Execution execution) {
+        String sql = normalize(execution.sql());
+        String repository = execution.caller() == null ? OUTSIDE_REPOSITORY : execution.caller().repository();
+        String method = execution.caller() == null ? "" : execution.caller().method();
+        stats.computeIfAbsent(new Key(repository, method, sql), key -> new Stats()).add(execution);
+
+        String message = String.format("%.1f ms %s%s%s: %s", execution.nanos() / 1_000_000.0, repository,
+                method.isEmpty() ? "" : "." + method,
+                execution.batchSize() > 0 ? " [lote de " + execution.batchSize() + "]" : "", sql);
+        if (execution.slow()) {
+            log.warn(message);
+        } else {
+            log.info(message);
+        }
+    }
+
+    private static final class Stats {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder slowCount = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        volatile long maxNanos;
+
+        void add(Execution execution) {
+            count.increment();
+            if (execution.slow()) {
+                slowCount.increment();
+            }
+            totalNanos.add(execution.nanos());
+            // Só a thread 'slow-query-log' grava aqui
+            maxNanos = Math.max(maxNanos, execution.nanos());
+        }
+
+        QueryStats snapshot(Key key) {
+            return new QueryStats(key.method(), key.sql(), count.sum(), slowCount.sum(),
+                    totalNanos.sum() / 1_000_000.0, maxNanos / 1_000_000.0);
+        }
+    }
+}
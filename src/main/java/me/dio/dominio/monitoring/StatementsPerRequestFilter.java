@@ -0,0 +1,53 @@
+package me.dio.dominio.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publica 'hibernate.statements.per.request', a distribuição do número de
+ * instruções SQL por requisição, com a rota (ex.: /api/accounts/{id}) e o método
+ * HTTP como tags.
+ */
+@Component
+public class StatementsPerRequestFilter extends OncePerRequestFilter {
+
+    private final RequestStatementCounter counter;
+
+    private final MeterRegistry registry;
+
+    public StatementsPerRequestFilter(RequestStatementCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("hibernate.statements.per.request")
+                    .description("Instruções SQL executadas por requisição")
+                    .tag("uri", route == null ? "UNKNOWN" : route.toString())
+                    .tag("method", request.getMethod())
+                    .register(registry)
+                    .record(counter.current());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package me.dio.dominio.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Detecta threads virtuais presas à thread portadora (pinning), que ocorre quando
+ * uma thread virtual bloqueia dentro de um bloco 'synchronized' ou de código nativo
+ * (comum no H2 e em partes do Hibernate). Enquanto presa, ela ocupa uma das poucas
+ * threads portadoras e o ganho das threads virtuais desaparece.
+ *
+ * Os eventos 'jdk.VirtualThreadPinned' do JFR acima do limite configurado são
+ * agrupados pela pilha de chamadas; a primeira ocorrência de cada pilha é logada e
+ * o total fica disponível em GET /api/diagnostics/virtual-threads/pinning.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int STACK_DEPTH = 12;
+
+    private final Duration threshold;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Uma pilha de chamadas em que houve pinning e quantas vezes / por quanto tempo.
+     */
+    public record PinnedSite(String stackTrace, long count, long totalMillis, long maxMillis) {
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Monitorando pinning de threads virtuais acima de {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    public List<PinnedSite> report() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(PinnedSite::totalMillis).reversed())
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        String stackTrace = format(event);
+        long nanos = event.getDuration().toNanos();
+        Site site = sites.computeIfAbsent(stackTrace, key -> {
+            log.warn("Thread virtual presa à portadora por {} ms em:\n{}", event.getDuration().toMillis(), key);
+            return new Site();
+        });
+        site.count.increment();
+        site.totalNanos.add(nanos);
+        site.maxNanos.accumulate(nanos);
+    }
+
+    private static String format(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(sem pilha)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(" + frame.getLineNumber() + ")";
+    }
+
+    private static final class Site {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        PinnedSite snapshot(String stackTrace) {
+            return new PinnedSite(stackTrace, count.sum(), Duration.ofNanos(totalNanos.sum()).toMillis(),
+                    Duration.ofNanos(maxNanos.get()).toMillis());
+        }
+    }
+}
@@ -1,7 +1,37 @@
 package me.dio.dominio.repository;
 
+import me.dio.dominio.dto.AccountLedgerRow;
 import me.dio.dominio.model.Account;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface AccountRepository extends JpaRepository<Account, Long> {
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface AccountRepository extends BaseItemRepository<Account> {
+
+    @Transactional(readOnly = true)
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Account> streamAllByOrderByIdAsc();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new me.dio.dominio.dto.AccountLedgerRow(a.id, a.agency, a.balance, a.creditLimit, a.version) from tb_account a")
+    Stream<AccountLedgerRow> streamLedgerRows();
+
+    @Transactional(readOnly = true)
+    @Query("select a.version from tb_account a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select a.number from tb_account a where a.number in :numbers")
+    Set<String> findExistingNumbers(@Param("numbers") Collection<String> numbers);
 }
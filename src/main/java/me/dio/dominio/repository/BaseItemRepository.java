@@ -0,0 +1,35 @@
+package me.dio.dominio.repository;
+
+import me.dio.dominio.dto.CollectionVersion;
+import me.dio.dominio.model.BaseItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Consultas comuns às entidades que herdam de BaseItem: as de versão, usadas pelos
+ * GETs condicionais (ETag/Last-Modified) sem carregar as entidades, e a exclusão
+ * em massa com um único DELETE.
+ */
+@NoRepositoryBean
+public interface BaseItemRepository<T extends BaseItem> extends JpaRepository<T, Long> {
+
+    @Transactional(readOnly = true)
+    @Query("select e.updatedAt from #{#entityName} e where e.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new me.dio.dominio.dto.CollectionVersion(max(e.updatedAt), count(e)) from #{#entityName} e")
+    CollectionVersion findCollectionVersion();
+
+    @Modifying
+    @Query("delete from #{#entityName} e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,7 +1,38 @@
 package me.dio.dominio.repository;
 
 import me.dio.dominio.model.Card;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
+
+    @Transactional(readOnly = true)
+    List<Card> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Card> streamAllByOrderByIdAsc();
+
+    @Query("select c.number from tb_card c where c.number in :numbers")
+    Set<String> findExistingNumbers(@Param("numbers") Collection<String> numbers);
+
+    Optional<Card> findByNumber(String number);
+
+    /** SELECT ... FOR UPDATE: lê a linha do banco (não do cache) e a trava até o commit. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from tb_card c where c.id = :id")
+    Optional<Card> lockById(@Param("id") Long id);
 }
@@ -1,7 +1,21 @@
 package me.dio.dominio.repository;
 
 import me.dio.dominio.model.Emprestimos;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface EmprestimosRepository extends JpaRepository<Emprestimos, Long> {
+
+    @Transactional(readOnly = true)
+    List<Emprestimos> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Emprestimos> streamAllByOrderByIdAsc();
 }
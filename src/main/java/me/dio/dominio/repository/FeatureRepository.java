@@ -1,7 +1,20 @@
 package me.dio.dominio.repository;
 
 import me.dio.dominio.model.Feature;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface FeatureRepository extends JpaRepository<Feature, Long> {
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface FeatureRepository extends BaseItemRepository<Feature> {
+
+    @Transactional(readOnly = true)
+    List<Feature> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Feature> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,118 @@
+package me.dio.dominio.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consultas com apenas os campos pedidos (?fields=...): o SELECT traz só as colunas
+ * desses campos, e as associações um para um só entram na consulta (LEFT JOIN)
+ * quando algum campo delas é pedido, como em "account.number". Cada linha vira um
+ * mapa com a mesma forma da entidade, com os campos de associações aninhados.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class FieldsetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, Set<String>> selectable = new ConcurrentHashMap<>();
+
+    /**
+     * Os campos que podem ser pedidos: os atributos simples da entidade e, com o
+     * prefixo da associação, os das entidades associadas um para um. Coleções
+     * (features, news) ficam de fora.
+     */
+    public Set<String> selectablePaths(Class<?> entityClass) {
+        return selectable.computeIfAbsent(entityClass, type -> {
+            Set<String> paths = new LinkedHashSet<>();
+            for (Attribute<?, ?> attribute : entityType(type).getAttributes()) {
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                    paths.add(attribute.getName());
+                } else if (attribute instanceof SingularAttribute<?, ?> association
+                        && association.getType() instanceof ManagedType<?> target) {
+                    for (Attribute<?, ?> nested : target.getAttributes()) {
+                        if (nested.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                            paths.add(attribute.getName() + "." + nested.getName());
+                        }
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(paths);
+        });
+    }
+
+    public List<Map<String, Object>> findPage(Class<?> entityClass, List<String> paths, long after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        query.multiselect(select(root, paths))
+                .where(builder.gt(root.get("id"), after))
+                .orderBy(builder.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> toMap(row, paths))
+                .toList();
+    }
+
+    public Optional<Map<String, Object>> findById(Class<?> entityClass, List<String> paths, long id) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        query.multiselect(select(root, paths))
+                .where(builder.equal(root.get("id"), id));
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst()
+                .map(row -> toMap(row, paths));
+    }
+
+    private EntityType<?> entityType(Class<?> entityClass) {
+        return entityManager.getMetamodel().entity(entityClass);
+    }
+
+    private static List<Selection<?>> select(Root<?> root, List<String> paths) {
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                selections.add(root.get(path));
+            } else {
+                Join<?, ?> join = joins.computeIfAbsent(path.substring(0, dot),
+                        association -> root.join(association, JoinType.LEFT));
+                selections.add(join.get(path.substring(dot + 1)));
+            }
+        }
+        return selections;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(Tuple row, List<String> paths) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                result.put(path, row.get(i));
+            } else {
+                Map<String, Object> nested = (Map<String, Object>) result.computeIfAbsent(path.substring(0, dot),
+                        association -> new LinkedHashMap<>());
+                nested.put(path.substring(dot + 1), row.get(i));
+            }
+        }
+        return result;
+    }
+}
@@ -1,7 +1,65 @@
 package me.dio.dominio.repository;
 
+import me.dio.dominio.dto.ApplicationUserOwnedIds;
+import me.dio.dominio.dto.ApplicationUserSummary;
 import me.dio.dominio.model.ApplicationUser;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<ApplicationUser, Long> {
+
+    @Override
+    @EntityGraph(ApplicationUser.FULL_GRAPH)
+    Optional<ApplicationUser> findById(Long id);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(ApplicationUser.FULL_GRAPH)
+    List<ApplicationUser> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select new me.dio.dominio.dto.ApplicationUserSummary(u.id, u.name, a.number, a.agency, a.balance, c.number) "
+            + "from tb_application_user u left join u.account a left join u.card c "
+            + "where u.id > :after order by u.id")
+    List<ApplicationUserSummary> findSummaries(@Param("after") Long after, Limit limit);
+
+    @EntityGraph(ApplicationUser.FULL_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ApplicationUser> streamAllByOrderByIdAsc();
+
+    @Query("select new me.dio.dominio.dto.ApplicationUserOwnedIds(u.id, u.account.id, u.card.id, u.emprestimos.id) "
+            + "from tb_application_user u where u.id in :ids")
+    List<ApplicationUserOwnedIds> findOwnedIds(@Param("ids") Collection<Long> ids);
+
+    // News e features não mapeiam o lado 'user_id' da associação, daí o SQL nativo
+    // Sem as tabelas afetadas (HINT_NATIVE_SPACES), um DELETE nativo faria o Hibernate
+    // esvaziar todas as regiões do cache de segundo nível
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_news"))
+    @Query(value = "delete from tb_news where user_id in :ids", nativeQuery = true)
+    int deleteNewsByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_feature"))
+    @Query(value = "delete from tb_feature where user_id in :ids", nativeQuery = true)
+    int deleteFeaturesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from tb_application_user u where u.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
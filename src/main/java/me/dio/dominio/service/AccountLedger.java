@@ -0,0 +1,296 @@
+package me.dio.dominio.service;
+
+import jakarta.annotation.PostConstruct;
+import me.dio.dominio.dto.AccountLedgerRow;
+import me.dio.dominio.dto.AccountStats;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.repository.AccountRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Espelho de 'tb_account' em memória para os totais de GET /api/accounts/stats, sem
+ * carregar entidades nem somar BigDecimal.
+ *
+ * Cada coluna é um array primitivo (saldo e limite em centavos, agência como código
+ * de um dicionário) e a posição i de todos os arrays é a mesma conta; as contas
+ * ocupam as posições [0, size), e a exclusão move a última para a posição liberada.
+ * Os totais, mínimo, máximo e as maiores contas saem de uma única passada pelos
+ * arrays, sob o lock de leitura; as gravações trocam uma posição sob o de escrita.
+ *
+ * É carregado do banco na inicialização e atualizado pelos serviços depois de cada
+ * commit que altera contas (cadastro, carga em massa, transferência e exclusões).
+ * Essas atualizações podem chegar fora da ordem dos commits, então cada posição
+ * guarda a @Version da conta e uma gravação de versão menor é ignorada; uma conta
+ * excluída fica marcada e não volta por uma gravação atrasada (os ids vêm de uma
+ * sequence e não são reaproveitados).
+ * Como o índice de autorizações de cartão, reflete só as gravações desta instância.
+ */
+@Service
+public class AccountLedger {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Lock readLock;
+
+    private final Lock writeLock;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    private final Set<Long> deleted = new HashSet<>();
+
+    private final Map<String, Integer> agencyCodes = new HashMap<>();
+
+    private final List<String> agencyNames = new ArrayList<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private int[] agencies = new int[INITIAL_CAPACITY];
+
+    private long[] balances = new long[INITIAL_CAPACITY];
+
+    private long[] creditLimits = new long[INITIAL_CAPACITY];
+
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    public AccountLedger(AccountRepository accountRepository, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    /**
+     * Lê 'tb_account' inteira, sem carregar entidades; chamado uma vez, na inicialização.
+     */
+    @PostConstruct
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<AccountLedgerRow> rows = accountRepository.streamLedgerRows()) {
+                rows.forEach(row -> put(row.id(), row.agency(), row.balance(), row.creditLimit(), row.version()));
+            }
+        });
+    }
+
+    /** Cadastro, carga em massa ou transferência: 'account' com a versão gravada no commit. */
+    public void accountSaved(Account account) {
+        put(account.getId(), account.getAgency(), account.getBalance(), account.getCreditLimit(), account.getVersion());
+    }
+
+    public void accountDeleted(long id) {
+        writeLock.lock();
+        try {
+            deleted.add(id);
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                agencies[slot] = agencies[last];
+                balances[slot] = balances[last];
+                creditLimits[slot] = creditLimits[last];
+                versions[slot] = versions[last];
+                slots.put(ids[slot], slot);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Totais por agência e as 'top' contas de maior saldo (empate: menor id primeiro),
+     * de todas as contas ou só das da agência informada.
+     */
+    public AccountStats stats(String agency, int top) {
+        readLock.lock();
+        try {
+            Integer only = agency == null ? null : agencyCodes.get(agency);
+            if (agency != null && only == null) {
+                return new AccountStats(totals(agency, 0, 0, 0, 0, 0), List.of(), List.of());
+            }
+            int filter = only == null ? -1 : only;
+            int codes = agencyNames.size();
+            long[] counts = new long[codes];
+            long[] sums = new long[codes];
+            long[] mins = new long[codes];
+            long[] maxs = new long[codes];
+            long[] limits = new long[codes];
+            Arrays.fill(mins, Long.MAX_VALUE);
+            Arrays.fill(maxs, Long.MIN_VALUE);
+            int[] heap = new int[top];
+            int ranked = 0;
+
+            for (int i = 0; i < size; i++) {
+                int code = agencies[i];
+                if (filter >= 0 && code != filter) {
+                    continue;
+                }
+                long balance = balances[i];
+                counts[code]++;
+                sums[code] += balance;
+                mins[code] = Math.min(mins[code], balance);
+                maxs[code] = Math.max(maxs[code], balance);
+                limits[code] += creditLimits[i];
+                if (ranked < top) {
+                    heap[ranked] = i;
+                    siftUp(heap, ranked++);
+                } else if (top > 0 && ranksBelow(heap[0], i)) {
+                    heap[0] = i;
+                    siftDown(heap, ranked);
+                }
+            }
+
+            List<AccountStats.Totals> byAgency = new ArrayList<>();
+            long count = 0;
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long limit = 0;
+            for (int code = 0; code < codes; code++) {
+                if (counts[code] == 0) {
+                    continue;
+                }
+                byAgency.add(totals(agencyNames.get(code), counts[code], sums[code], mins[code], maxs[code], limits[code]));
+                count += counts[code];
+                sum += sums[code];
+                min = Math.min(min, mins[code]);
+                max = Math.max(max, maxs[code]);
+                limit += limits[code];
+            }
+            byAgency.sort(Comparator.comparing(AccountStats.Totals::agency, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            AccountStats.RankedAccount[] best = new AccountStats.RankedAccount[ranked];
+            while (ranked > 0) {
+                int slot = heap[0];
+                heap[0] = heap[--ranked];
+                siftDown(heap, ranked);
+                best[ranked] = new AccountStats.RankedAccount(ids[slot], agencyNames.get(agencies[slot]), money(balances[slot]));
+            }
+            return new AccountStats(totals(agency, count, sum, min, max, limit), byAgency, List.of(best));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void put(Long id, String agency, BigDecimal balance, BigDecimal creditLimit, long version) {
+        long balanceCents = cents(balance);
+        long creditLimitCents = cents(creditLimit);
+        writeLock.lock();
+        try {
+            if (deleted.contains(id)) {
+                return;
+            }
+            Integer slot = slots.get(id);
+            if (slot != null && version < versions[slot]) {
+                return;
+            }
+            if (slot == null) {
+                if (size == ids.length) {
+                    grow();
+                }
+                slot = size++;
+                slots.put(id, slot);
+                ids[slot] = id;
+            }
+            agencies[slot] = agencyCodes.computeIfAbsent(agency, name -> {
+                agencyNames.add(name);
+                return agencyNames.size() - 1;
+            });
+            balances[slot] = balanceCents;
+            creditLimits[slot] = creditLimitCents;
+            versions[slot] = version;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        agencies = Arrays.copyOf(agencies, capacity);
+        balances = Arrays.copyOf(balances, capacity);
+        creditLimits = Arrays.copyOf(creditLimits, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    /** Se a conta na posição 'a' fica depois da conta em 'b' no ranking por saldo. */
+    private boolean ranksBelow(int a, int b) {
+        return balances[a] < balances[b] || (balances[a] == balances[b] && ids[a] > ids[b]);
+    }
+
+    // 'heap' é um heap mínimo pelo ranking: a raiz é a pior das contas guardadas
+
+    private void siftUp(int[] heap, int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBelow(slot, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int slot = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBelow(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!ranksBelow(heap[child], slot)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    private static AccountStats.Totals totals(String agency, long count, long sum, long min, long max, long limit) {
+        return new AccountStats.Totals(agency, count, money(sum), count == 0 ? null : money(min),
+                count == 0 ? null : money(max), money(limit));
+    }
+
+    private static long cents(BigDecimal value) {
+        return value == null ? 0 : value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
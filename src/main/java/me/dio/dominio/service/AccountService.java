@@ -1,12 +1,26 @@
 package me.dio.dominio.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import me.dio.dominio.dto.AccountStats;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.dto.CollectionVersion;
+import me.dio.dominio.journal.MutationJournal;
 import me.dio.dominio.model.Account;
 import me.dio.dominio.repository.AccountRepository;
+import me.dio.dominio.repository.FieldsetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AccountService {
@@ -14,19 +28,89 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Autowired
+    private JournaledTransactions journaledTransactions;
+
+    @Autowired
+    private AccountLedger accountLedger;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Account> findAll() {
         return accountRepository.findAll();
     }
 
+    public List<Account> findPage(Long after, Integer limit) {
+        return accountRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Account> action) {
+        try (Stream<Account> rows = accountRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                action.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
     public Optional<Account> findById(Long id) {
         return accountRepository.findById(id);
     }
 
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(Account.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(Account.class, fieldset(fields), id);
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return accountRepository.findVersionById(id);
+    }
+
+    public CollectionVersion findCollectionVersion() {
+        return accountRepository.findCollectionVersion();
+    }
+
+    public AccountStats findStats(String agency, Integer top) {
+        return accountLedger.stats(agency, Paging.limit(top).max());
+    }
+
     public Account save(Account account) {
-        return accountRepository.save(account);
+        Account saved = journaledTransactions.execute(() -> accountRepository.save(account),
+                written -> journal.accountBalance(written.getId(), written.getBalance()));
+        accountLedger.accountSaved(saved);
+        return saved;
+    }
+
+    public List<BulkItemResult> saveAll(MappingIterator<Account> rows) {
+        return bulkInsertService.insert(rows, new BulkInsertService.Target<>(
+                Account::getNumber, accountRepository::findExistingNumbers, Account::getId, Account::setId,
+                account -> journal.accountBalance(account.getId(), account.getBalance()),
+                accountLedger::accountSaved));
     }
 
     public void deleteById(Long id) {
-        accountRepository.deleteById(id);
+        journaledTransactions.execute(() -> {
+            accountRepository.deleteById(id);
+            return id;
+        }, journal::accountDeleted);
+        accountLedger.accountDeleted(id);
+    }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(Account.class));
     }
 }
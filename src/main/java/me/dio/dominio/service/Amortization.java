@@ -0,0 +1,84 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.AmortizationSystem;
+import me.dio.dominio.dto.LoanSimulation;
+import me.dio.dominio.dto.LoanSimulation.Installment;
+import me.dio.dominio.dto.LoanSimulationRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cálculo dos cronogramas Price e SAC em centavos (long). Os juros de cada mês são
+ * arredondados para o centavo e a última parcela absorve o resíduo, de modo que a
+ * soma das amortizações é exatamente o valor emprestado. Só o resultado final é
+ * convertido para BigDecimal.
+ */
+final class Amortization {
+
+    private Amortization() {
+    }
+
+    static LoanSimulation simulate(LoanSimulationRequest.Key key) {
+        int term = key.term();
+        long[] payment = new long[term];
+        long[] interest = new long[term];
+        long[] amortization = new long[term];
+        long[] balance = new long[term];
+        double rate = key.rateHundredths() / 10_000.0;
+
+        if (key.system() == AmortizationSystem.SAC) {
+            sac(key.amountCents(), rate, payment, interest, amortization, balance);
+        } else {
+            price(key.amountCents(), rate, payment, interest, amortization, balance);
+        }
+
+        List<Installment> installments = new ArrayList<>(term);
+        long totalPaid = 0;
+        long totalInterest = 0;
+        for (int i = 0; i < term; i++) {
+            totalPaid += payment[i];
+            totalInterest += interest[i];
+            installments.add(new Installment(i + 1, money(payment[i]), money(interest[i]),
+                    money(amortization[i]), money(balance[i])));
+        }
+        return new LoanSimulation(key.system(), money(key.amountCents()),
+                BigDecimal.valueOf(key.rateHundredths(), 2), term, money(totalPaid), money(totalInterest),
+                List.copyOf(installments));
+    }
+
+    private static void price(long principal, double rate, long[] payment, long[] interest, long[] amortization,
+            long[] balance) {
+        int term = payment.length;
+        long fixed = rate == 0
+                ? Math.round((double) principal / term)
+                : Math.round(principal * rate / (1 - Math.pow(1 + rate, -term)));
+        long remaining = principal;
+        for (int i = 0; i < term; i++) {
+            interest[i] = Math.round(remaining * rate);
+            amortization[i] = i == term - 1 ? remaining : Math.min(remaining, fixed - interest[i]);
+            payment[i] = interest[i] + amortization[i];
+            remaining -= amortization[i];
+            balance[i] = remaining;
+        }
+    }
+
+    private static void sac(long principal, double rate, long[] payment, long[] interest, long[] amortization,
+            long[] balance) {
+        int term = payment.length;
+        long constant = principal / term;
+        long remaining = principal;
+        for (int i = 0; i < term; i++) {
+            interest[i] = Math.round(remaining * rate);
+            amortization[i] = i == term - 1 ? remaining : constant;
+            payment[i] = interest[i] + amortization[i];
+            remaining -= amortization[i];
+            balance[i] = remaining;
+        }
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
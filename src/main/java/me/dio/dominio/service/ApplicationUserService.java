@@ -1,12 +1,38 @@
 package me.dio.dominio.service;
 
+import me.dio.dominio.dto.ApplicationUserOwnedIds;
+import me.dio.dominio.dto.ApplicationUserSummary;
+import me.dio.dominio.dto.BulkDeleteResult;
+import me.dio.dominio.dto.UserDashboard;
+import me.dio.dominio.journal.MutationJournal;
+import me.dio.dominio.model.Account;
 import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.model.Card;
+import me.dio.dominio.model.Emprestimos;
+import me.dio.dominio.repository.AccountRepository;
+import me.dio.dominio.repository.CardRepository;
+import me.dio.dominio.repository.EmprestimosRepository;
+import me.dio.dominio.repository.FieldsetRepository;
 import me.dio.dominio.repository.UserRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationUserService {
@@ -14,19 +40,226 @@ public class ApplicationUserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private EmprestimosRepository emprestimosRepository;
+
+    @Autowired
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Autowired
+    private AccountLedger accountLedger;
+
+    @Autowired
+    private JournaledTransactions journaledTransactions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.chunk-size:100}")
+    private int exportChunkSize;
+
     public List<ApplicationUser> findAll() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<ApplicationUser> findPage(Long after, Integer limit) {
+        List<ApplicationUser> users = userRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+        users.forEach(ApplicationUserService::initializeCollections);
+        return users;
+    }
+
+    public List<ApplicationUserSummary> findSummaryPage(Long after, Integer limit) {
+        return userRepository.findSummaries(Paging.after(after), Paging.limit(limit));
+    }
+
+    /**
+     * Percorre todos os usuários com o grafo completo em blocos de
+     * 'app.export.chunk-size': cada bloco tem as coleções carregadas em lote, é
+     * entregue a 'action' e depois o contexto de persistência é limpo, de modo que
+     * o heap usado não cresce com o tamanho da tabela.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<ApplicationUser> action) {
+        List<ApplicationUser> chunk = new ArrayList<>(exportChunkSize);
+        try (Stream<ApplicationUser> rows = userRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(user -> {
+                chunk.add(user);
+                if (chunk.size() == exportChunkSize) {
+                    flushChunk(chunk, action);
+                }
+            });
+        }
+        flushChunk(chunk, action);
+    }
+
+    private void flushChunk(List<ApplicationUser> chunk, Consumer<ApplicationUser> action) {
+        chunk.forEach(ApplicationUserService::initializeCollections);
+        chunk.forEach(action);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    @Transactional(readOnly = true)
     public Optional<ApplicationUser> findById(Long id) {
-        return userRepository.findById(id);
+        Optional<ApplicationUser> user = userRepository.findById(id);
+        user.ifPresent(ApplicationUserService::initializeCollections);
+        return user;
+    }
+
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(ApplicationUser.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(ApplicationUser.class, fieldset(fields), id);
     }
 
+    /**
+     * Monta o painel a partir do mesmo plano de findById: usuário com conta, cartão e
+     * empréstimo em uma junção, depois features e news, três instruções no total.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserDashboard> findDashboard(Long id) {
+        return userRepository.findById(id).map(ApplicationUserService::toDashboard);
+    }
+
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS,
+            CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
     public ApplicationUser save(ApplicationUser user) {
-        return userRepository.save(user);
+        ApplicationUser saved = journaledTransactions.execute(() -> {
+            ApplicationUser written = userRepository.save(user);
+            if (written.getCard() != null) {
+                cardAuthorizationService.cardSaving(written.getCard());
+            }
+            return written;
+        }, this::journalSaved);
+        if (saved.getAccount() != null) {
+            accountLedger.accountSaved(saved.getAccount());
+        }
+        return saved;
     }
 
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS,
+            CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
     public void deleteById(Long id) {
-        userRepository.deleteById(id);
+        List<ApplicationUserOwnedIds> owned = journaledTransactions.execute(() -> {
+            List<ApplicationUserOwnedIds> found = userRepository.findOwnedIds(List.of(id));
+            userRepository.deleteById(id);
+            return found;
+        }, this::journalDeleted);
+        forgetDeleted(owned);
+    }
+
+    /**
+     * Exclui os usuários e tudo o que o cascade de ApplicationUser removeria, mas com
+     * DELETEs por conjunto em vez de um por entidade: news e features, os usuários e,
+     * por fim, as contas, cartões e empréstimos que eles referenciavam. São sete
+     * instruções por bloco de ids, em uma única transação, que também grava as exclusões
+     * no journal antes do commit; o AccountLedger e o índice de autorizações de cartão
+     * só são atualizados depois dele.
+     */
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS,
+            CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
+    public BulkDeleteResult deleteAllById(Collection<Long> ids) {
+        List<ApplicationUserOwnedIds> deleted = new ArrayList<>();
+        BulkDeleteResult result = journaledTransactions.execute(() -> BulkDelete.inChunks(ids, chunk -> {
+            List<ApplicationUserOwnedIds> owned = userRepository.findOwnedIds(chunk);
+            userRepository.deleteNewsByUserIdIn(chunk);
+            userRepository.deleteFeaturesByUserIdIn(chunk);
+            int users = userRepository.deleteByIdIn(chunk);
+            accountRepository.deleteAllByIdInBatch(ids(owned, ApplicationUserOwnedIds::accountId));
+            cardRepository.deleteAllByIdInBatch(ids(owned, ApplicationUserOwnedIds::cardId));
+            emprestimosRepository.deleteAllByIdInBatch(ids(owned, ApplicationUserOwnedIds::emprestimosId));
+            deleted.addAll(owned);
+            return users;
+        }), summary -> journalDeleted(deleted));
+        forgetDeleted(deleted);
+        return result;
+    }
+
+    private void journalSaved(ApplicationUser saved) {
+        if (saved.getAccount() != null) {
+            journal.accountBalance(saved.getAccount().getId(), saved.getAccount().getBalance());
+        }
+        if (saved.getCard() != null) {
+            journal.cardLimit(saved.getCard().getId(), saved.getCard().getCreditLimit());
+        }
+    }
+
+    private void journalDeleted(List<ApplicationUserOwnedIds> deleted) {
+        for (ApplicationUserOwnedIds owned : deleted) {
+            if (owned.accountId() != null) {
+                journal.accountDeleted(owned.accountId());
+            }
+            if (owned.cardId() != null) {
+                journal.cardDeleted(owned.cardId());
+            }
+        }
+    }
+
+    private void forgetDeleted(List<ApplicationUserOwnedIds> deleted) {
+        for (ApplicationUserOwnedIds owned : deleted) {
+            if (owned.accountId() != null) {
+                accountLedger.accountDeleted(owned.accountId());
+            }
+            if (owned.cardId() != null) {
+                cardAuthorizationService.cardDeleted(owned.cardId());
+            }
+        }
+    }
+
+    private static List<Long> ids(List<ApplicationUserOwnedIds> owned, Function<ApplicationUserOwnedIds, Long> id) {
+        return owned.stream().map(id).filter(Objects::nonNull).toList();
+    }
+
+    private static UserDashboard toDashboard(ApplicationUser user) {
+        Account account = user.getAccount();
+        Card card = user.getCard();
+        Emprestimos loan = user.getEmprestimos();
+        return new UserDashboard(
+                user.getId(),
+                user.getName(),
+                account == null ? null : account.getNumber(),
+                account == null ? null : account.getAgency(),
+                account == null ? null : account.getBalance(),
+                account == null ? null : account.getCreditLimit(),
+                card == null ? null : card.getNumber(),
+                card == null ? null : card.getCreditLimit(),
+                loan == null ? null : loan.getAmount(),
+                loan == null ? null : loan.getInterestRate(),
+                loan == null ? null : loan.getDate(),
+                user.getFeatures().stream()
+                        .map(feature -> new UserDashboard.Item(feature.getId(), feature.getIcon(), feature.getDescription()))
+                        .toList(),
+                user.getNews().stream()
+                        .map(news -> new UserDashboard.Item(news.getId(), news.getIcon(), news.getDescription()))
+                        .toList());
+    }
+
+    /**
+     * Inicializa 'features' e 'news' dentro da transação. Como as coleções usam
+     * @BatchSize, o primeiro acesso carrega as listas de todos os usuários da página
+     * de uma vez, e a serialização não dispara mais nenhuma consulta.
+     */
+    private static void initializeCollections(ApplicationUser user) {
+        Hibernate.initialize(user.getFeatures());
+        Hibernate.initialize(user.getNews());
+    }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(ApplicationUser.class));
     }
 }
@@ -0,0 +1,30 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.BulkDeleteResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Executa uma exclusão em massa em blocos de ids: cada bloco vira um único DELETE
+ * com IN, e o tamanho do bloco mantém a lista abaixo do limite de parâmetros do
+ * driver (32767 no PostgreSQL).
+ */
+final class BulkDelete {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private BulkDelete() {
+    }
+
+    static BulkDeleteResult inChunks(Collection<Long> ids, ToIntFunction<List<Long>> delete) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            deleted += delete.applyAsInt(distinct.subList(from, Math.min(from + CHUNK_SIZE, distinct.size())));
+        }
+        return new BulkDeleteResult(distinct.size(), deleted);
+    }
+}
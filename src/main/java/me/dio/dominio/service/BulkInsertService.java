@@ -0,0 +1,167 @@
+package me.dio.dominio.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.journal.MutationJournal;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Carga em massa: lê as linhas de um array JSON ou NDJSON sob demanda, valida em
+ * blocos de 'app.bulk.batch-size' linhas e grava cada bloco em uma transação própria,
+ * com os INSERTs agrupados em lotes JDBC. Uma linha inválida é rejeitada sozinha;
+ * uma falha no banco rejeita apenas o bloco em que ocorreu. Os registros do journal
+ * são gravados dentro da transação do bloco, antes do commit.
+ */
+@Service
+public class BulkInsertService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Value("${app.bulk.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Como identificar e gravar um tipo de entidade: chave natural única (ex.: número
+     * da conta), consulta das chaves já existentes, acesso ao id, o registro de cada
+     * linha no journal e o que fazer com cada linha depois do commit.
+     */
+    public record Target<T>(
+            Function<T, String> naturalKey,
+            Function<Collection<String>, Set<String>> existingKeys,
+            Function<T, Long> getId,
+            BiConsumer<T, Long> setId,
+            Consumer<T> journal,
+            Consumer<T> committed) {
+    }
+
+    public <T> List<BulkItemResult> insert(MappingIterator<T> rows, Target<T> target) {
+        List<BulkItemResult> results = new ArrayList<>();
+        Set<String> insertedKeys = new HashSet<>();
+        Map<Integer, T> chunk = new LinkedHashMap<>();
+        int index = 0;
+        while (true) {
+            T row;
+            try {
+                if (!rows.hasNextValue()) {
+                    break;
+                }
+                row = rows.nextValue();
+            } catch (JsonMappingException e) {
+                results.add(BulkItemResult.rejected(index++, List.of(e.getOriginalMessage())));
+                continue;
+            } catch (IOException e) {
+                results.add(BulkItemResult.rejected(index, List.of("JSON inválido: " + e.getMessage())));
+                break;
+            }
+            chunk.put(index++, row);
+            if (chunk.size() == batchSize) {
+                insertChunk(chunk, target, insertedKeys, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, target, insertedKeys, results);
+        }
+        results.sort(Comparator.comparingInt(BulkItemResult::index));
+        return results;
+    }
+
+    private <T> void insertChunk(Map<Integer, T> chunk, Target<T> target, Set<String> insertedKeys,
+            List<BulkItemResult> results) {
+        Map<Integer, T> valid = new LinkedHashMap<>();
+        Set<String> chunkKeys = new HashSet<>();
+        for (Map.Entry<Integer, T> entry : chunk.entrySet()) {
+            T row = entry.getValue();
+            if (row == null) {
+                results.add(BulkItemResult.rejected(entry.getKey(), List.of("Linha vazia")));
+                continue;
+            }
+            List<String> errors = validator.validate(row).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .toList();
+            if (!errors.isEmpty()) {
+                results.add(BulkItemResult.rejected(entry.getKey(), errors));
+            } else if (insertedKeys.contains(target.naturalKey().apply(row))
+                    || !chunkKeys.add(target.naturalKey().apply(row))) {
+                results.add(BulkItemResult.rejected(entry.getKey(), List.of("Número duplicado na requisição")));
+            } else {
+                valid.put(entry.getKey(), row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = target.existingKeys().apply(
+                valid.values().stream().map(target.naturalKey()).toList());
+        valid.entrySet().removeIf(entry -> {
+            if (existing.contains(target.naturalKey().apply(entry.getValue()))) {
+                results.add(BulkItemResult.rejected(entry.getKey(), List.of("Número já cadastrado")));
+                return true;
+            }
+            return false;
+        });
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        MutationJournal.Group[] group = new MutationJournal.Group[1];
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (T row : valid.values()) {
+                    target.setId().accept(row, null);
+                    entityManager.persist(row);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                group[0] = journal.group(() -> valid.values().forEach(target.journal()));
+            });
+        } catch (RuntimeException e) {
+            String message = "Bloco não gravado: " + rootCause(e).getMessage();
+            valid.keySet().forEach(index -> results.add(BulkItemResult.rejected(index, List.of(message))));
+            return;
+        }
+        // O bloco já está no banco: daqui em diante uma falha não pode mais rejeitar as linhas
+        for (Map.Entry<Integer, T> entry : valid.entrySet()) {
+            insertedKeys.add(target.naturalKey().apply(entry.getValue()));
+            target.committed().accept(entry.getValue());
+            results.add(BulkItemResult.created(entry.getKey(), target.getId().apply(entry.getValue())));
+        }
+        journal.sync(group[0]);
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,19 @@
+package me.dio.dominio.service;
+
+/**
+ * Nomes dos caches em memória (Caffeine) usados pelos serviços.
+ * Tamanho máximo e tempo de expiração ficam em 'spring.cache.caffeine.spec'.
+ */
+public final class CacheNames {
+
+    public static final String NEWS = "news";
+    public static final String NEWS_PAGES = "newsPages";
+    public static final String NEWS_VERSIONS = "newsVersions";
+    public static final String FEATURES = "features";
+    public static final String FEATURE_PAGES = "featurePages";
+    public static final String FEATURE_VERSIONS = "featureVersions";
+    public static final String LOAN_SIMULATIONS = "loanSimulations";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,314 @@
+package me.dio.dominio.service;
+
+import jakarta.annotation.PreDestroy;
+import me.dio.dominio.dto.CardAuthorization;
+import me.dio.dominio.dto.CardAuthorization.Status;
+import me.dio.dominio.dto.CardAuthorizationRequest;
+import me.dio.dominio.journal.MutationJournal;
+import me.dio.dominio.model.Card;
+import me.dio.dominio.repository.CardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Autorização de compras no cartão sem ida ao banco no caminho crítico.
+ *
+ * Na primeira compra, o cartão é carregado pelo número e passa a viver em um
+ * índice em memória. Cada autorização reserva o valor no limite disponível com
+ * compare-and-set, então compras simultâneas nunca ultrapassam o limite. A
+ * captura move a reserva para um débito pendente, gravado em 'tb_card' por uma
+ * tarefa periódica (um SELECT FOR UPDATE e um UPDATE por cartão com o total
+ * acumulado, que atualizam só a entrada do cartão no cache de segundo nível); o
+ * cancelamento devolve o valor ao limite. Uma reserva que não é capturada nem cancelada em
+ * 'app.cards.authorization.reservation-ttl' expira e também devolve o valor.
+ *
+ * O índice guarda o último 'available_limit' conhecido e a @Version da linha de onde
+ * ele veio. Gravações do cartão e débitos da tarefa periódica chegam ao índice em
+ * qualquer ordem; só uma linha de versão maior altera o limite, pela diferença para
+ * o último valor conhecido.
+ *
+ * O estado das reservas é local a esta instância: com várias instâncias, as
+ * autorizações de um mesmo cartão devem ser roteadas sempre para a mesma.
+ */
+@Service
+public class CardAuthorizationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardAuthorizationService.class);
+
+    private final CardRepository cardRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MutationJournal journal;
+
+    private final Map<String, CardLimit> cardsByNumber = new ConcurrentHashMap<>();
+
+    private final Map<Long, CardLimit> cardsById = new ConcurrentHashMap<>();
+
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    private final AtomicLong authorizationIds = new AtomicLong();
+
+    private final long reservationTtlNanos;
+
+    public CardAuthorizationService(CardRepository cardRepository, PlatformTransactionManager transactionManager,
+            MutationJournal journal, @Value("${app.cards.authorization.reservation-ttl:15m}") Duration reservationTtl) {
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = journal;
+        this.reservationTtlNanos = reservationTtl.toNanos();
+    }
+
+    public CardAuthorization authorize(CardAuthorizationRequest request) {
+        CardLimit card = lookup(request.cardNumber());
+        long cents = cents(request.amount());
+        if (!card.tryReserve(cents)) {
+            return new CardAuthorization(null, Status.DECLINED, card.number, request.amount(), money(card.available.get()));
+        }
+        long id = authorizationIds.incrementAndGet();
+        reservations.put(id, new Reservation(card, cents, System.nanoTime() + reservationTtlNanos));
+        return new CardAuthorization(id, Status.APPROVED, card.number, request.amount(), money(card.available.get()));
+    }
+
+    public CardAuthorization capture(long authorizationId) {
+        Reservation reservation = take(authorizationId);
+        reservation.card.pendingDebit.addAndGet(reservation.cents);
+        return reservation.result(authorizationId, Status.CAPTURED);
+    }
+
+    public CardAuthorization release(long authorizationId) {
+        Reservation reservation = take(authorizationId);
+        reservation.card.available.addAndGet(reservation.cents);
+        return reservation.result(authorizationId, Status.RELEASED);
+    }
+
+    @Scheduled(fixedDelayString = "${app.cards.authorization.expiry-interval:1000}")
+    public void expireReservations() {
+        expireReservations(System.nanoTime());
+    }
+
+    /** Devolve ao limite as reservas vencidas em 'now' (System.nanoTime()). */
+    void expireReservations(long now) {
+        reservations.forEach((id, reservation) -> {
+            if (now - reservation.expiresAt >= 0 && reservations.remove(id, reservation)) {
+                reservation.card.available.addAndGet(reservation.cents);
+            }
+        });
+    }
+
+    /**
+     * Grava em 'tb_card' os débitos capturados desde a última execução, cada um com o
+     * seu registro no journal feito na mesma transação, antes do commit.
+     * Se o UPDATE falhar, o valor volta para o débito pendente e é tentado na próxima rodada;
+     * se não encontrar a linha, o cartão foi excluído por fora e sai do índice. Um débito
+     * maior que o limite gravado (alterado por fora do índice) fica pendente, sem novas
+     * tentativas, até a próxima gravação do cartão.
+     */
+    @Scheduled(fixedDelayString = "${app.cards.authorization.flush-interval:200}")
+    @PreDestroy
+    public void flush() {
+        for (CardLimit card : cardsById.values()) {
+            MutationJournal.Group group;
+            synchronized (card) {
+                if (card.overdrawn || card.pendingDebit.get() == 0) {
+                    continue;
+                }
+                long delta = card.pendingDebit.getAndSet(0);
+                long[] version = new long[1];
+                try {
+                    group = transactionTemplate.execute(status -> {
+                        Card locked = cardRepository.lockById(card.id).orElse(null);
+                        if (locked == null) {
+                            return null;
+                        }
+                        card.apply(cents(locked.getCreditLimit()), locked.getVersion());
+                        if (card.persistedLimit < delta) {
+                            card.overdrawn = true;
+                            return null;
+                        }
+                        locked.setCreditLimit(locked.getCreditLimit().subtract(money(delta)));
+                        status.flush();
+                        version[0] = locked.getVersion();
+                        return journal.group(() -> journal.cardDebit(card.id, money(delta)));
+                    });
+                } catch (RuntimeException e) {
+                    card.pendingDebit.addAndGet(delta);
+                    log.warn("Falha ao gravar débito de {} no cartão {}; nova tentativa na próxima rodada", money(delta),
+                            card.id, e);
+                    continue;
+                }
+                if (card.overdrawn) {
+                    card.pendingDebit.addAndGet(delta);
+                    log.error("Débito de {} no cartão {} deixaria o limite gravado ({}) negativo; pendente até o cartão ser gravado",
+                            money(delta), card.id, money(card.persistedLimit));
+                    continue;
+                }
+                if (group == null) {
+                    log.warn("Cartão {} não existe mais em tb_card; débito de {} descartado", card.id, money(delta));
+                    cardDeleted(card.id);
+                    continue;
+                }
+                card.persistedLimit -= delta;
+                card.version = version[0];
+            }
+            journal.sync(group);
+        }
+    }
+
+    /**
+     * Chamado dentro da transação que grava o cartão, depois do save. Se o limite
+     * diminui, a diferença é reservada no limite em memória já antes do commit, e a
+     * gravação é recusada se ela já está comprometida com reservas em aberto e débitos
+     * ainda não gravados. Quando a transação termina, a reserva é desfeita e, com
+     * commit, o índice recebe o novo limite (se a versão gravada for mais nova que a
+     * conhecida) e o novo número.
+     */
+    public void cardSaving(Card saved) {
+        CardLimit card = saved.getId() == null ? null : cardsById.get(saved.getId());
+        long held = card == null ? 0 : Math.max(0, card.persistedLimit - cents(saved.getCreditLimit()));
+        if (held > 0 && !card.tryReserve(held)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Limite abaixo do valor já comprometido com compras no cartão " + saved.getId());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cardSaved(saved, card, held);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    cardSaved(saved, card, held);
+                } else if (held > 0) {
+                    card.available.addAndGet(held);
+                }
+            }
+        });
+    }
+
+    private void cardSaved(Card saved, CardLimit held, long heldCents) {
+        if (held != null) {
+            held.available.addAndGet(heldCents);
+        }
+        CardLimit card = cardsById.get(saved.getId());
+        if (card == null) {
+            return;
+        }
+        synchronized (card) {
+            card.apply(cents(saved.getCreditLimit()), saved.getVersion());
+            if (!card.number.equals(saved.getNumber())) {
+                cardsByNumber.remove(card.number, card);
+                card.number = saved.getNumber();
+                cardsByNumber.put(card.number, card);
+            }
+        }
+    }
+
+    public void cardDeleted(Long id) {
+        CardLimit card = cardsById.remove(id);
+        if (card != null) {
+            cardsByNumber.remove(card.number, card);
+        }
+    }
+
+    /** O cartão é lido fora dos mapas, para não segurar o bin do ConcurrentHashMap durante a consulta. */
+    private CardLimit lookup(String number) {
+        CardLimit card = cardsByNumber.get(number);
+        if (card != null) {
+            return card;
+        }
+        Card found = cardRepository.findByNumber(number)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cartão não encontrado"));
+        CardLimit loaded = new CardLimit(found.getId(), found.getNumber(), cents(found.getCreditLimit()), found.getVersion());
+        CardLimit indexed = cardsById.putIfAbsent(found.getId(), loaded);
+        card = indexed != null ? indexed : loaded;
+        CardLimit raced = cardsByNumber.putIfAbsent(number, card);
+        return raced != null ? raced : card;
+    }
+
+    private Reservation take(long authorizationId) {
+        Reservation reservation = reservations.remove(authorizationId);
+        if (reservation == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Autorização " + authorizationId + " não encontrada");
+        }
+        return reservation;
+    }
+
+    private static long cents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static final class CardLimit {
+
+        final long id;
+        /** Alterado só por cardSaved, sob synchronized (this). */
+        volatile String number;
+        /** Limite livre para novas compras, em centavos. */
+        final AtomicLong available;
+        /** Compras capturadas que ainda não foram gravadas em 'tb_card'. */
+        final AtomicLong pendingDebit = new AtomicLong();
+        /** Último 'available_limit' conhecido; alterado sob synchronized (this). */
+        volatile long persistedLimit;
+        /** @Version da linha de onde veio 'persistedLimit'; protegido por synchronized (this). */
+        long version;
+        /** Se o débito pendente passa do limite gravado; protegido por synchronized (this). */
+        boolean overdrawn;
+
+        CardLimit(long id, String number, long limit, long version) {
+            this.id = id;
+            this.number = number;
+            this.available = new AtomicLong(limit);
+            this.persistedLimit = limit;
+            this.version = version;
+        }
+
+        /** Aplica a linha lida em 'version', se for mais nova que a conhecida; chamado sob synchronized (this). */
+        void apply(long limit, long version) {
+            if (version <= this.version) {
+                return;
+            }
+            available.addAndGet(limit - persistedLimit);
+            persistedLimit = limit;
+            this.version = version;
+            overdrawn = false;
+        }
+
+        boolean tryReserve(long cents) {
+            long current;
+            do {
+                current = available.get();
+                if (current < cents) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - cents));
+            return true;
+        }
+    }
+
+    /** 'expiresAt' na escala de System.nanoTime(). */
+    private record Reservation(CardLimit card, long cents, long expiresAt) {
+
+        CardAuthorization result(long authorizationId, Status status) {
+            return new CardAuthorization(authorizationId, status, card.number, money(cents), money(card.available.get()));
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package me.dio.dominio.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.journal.MutationJournal;
 import me.dio.dominio.model.Card;
 import me.dio.dominio.repository.CardRepository;
+import me.dio.dominio.repository.FieldsetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CardService {
@@ -14,19 +26,78 @@ public class CardService {
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Autowired
+    private JournaledTransactions journaledTransactions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Card> findAll() {
         return cardRepository.findAll();
     }
 
+    public List<Card> findPage(Long after, Integer limit) {
+        return cardRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Card> action) {
+        try (Stream<Card> rows = cardRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                action.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
     public Optional<Card> findById(Long id) {
         return cardRepository.findById(id);
     }
 
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(Card.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(Card.class, fieldset(fields), id);
+    }
+
     public Card save(Card card) {
-        return cardRepository.save(card);
+        return journaledTransactions.execute(() -> {
+            Card saved = cardRepository.save(card);
+            cardAuthorizationService.cardSaving(saved);
+            return saved;
+        }, written -> journal.cardLimit(written.getId(), written.getCreditLimit()));
+    }
+
+    public List<BulkItemResult> saveAll(MappingIterator<Card> rows) {
+        return bulkInsertService.insert(rows, new BulkInsertService.Target<>(
+                Card::getNumber, cardRepository::findExistingNumbers, Card::getId, Card::setId,
+                card -> journal.cardLimit(card.getId(), card.getCreditLimit()),
+                card -> { }));
     }
 
     public void deleteById(Long id) {
-        cardRepository.deleteById(id);
+        journaledTransactions.execute(() -> {
+            cardRepository.deleteById(id);
+            return id;
+        }, journal::cardDeleted);
+        cardAuthorizationService.cardDeleted(id);
+    }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(Card.class));
     }
 }
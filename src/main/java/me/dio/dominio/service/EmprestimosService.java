@@ -2,11 +2,20 @@ package me.dio.dominio.service;
 
 import me.dio.dominio.model.Emprestimos;
 import me.dio.dominio.repository.EmprestimosRepository;
+import me.dio.dominio.repository.FieldsetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmprestimosService {
@@ -14,14 +23,42 @@ public class EmprestimosService {
     @Autowired
     private EmprestimosRepository emprestimosRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Emprestimos> findAll() {
         return emprestimosRepository.findAll();
     }
 
+    public List<Emprestimos> findPage(Long after, Integer limit) {
+        return emprestimosRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Emprestimos> action) {
+        try (Stream<Emprestimos> rows = emprestimosRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                action.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
     public Optional<Emprestimos> findById(Long id) {
         return emprestimosRepository.findById(id);
     }
 
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(Emprestimos.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(Emprestimos.class, fieldset(fields), id);
+    }
+
     public Emprestimos save(Emprestimos emprestimos) {
         return emprestimosRepository.save(emprestimos);
     }
@@ -29,4 +66,8 @@ public class EmprestimosService {
     public void deleteById(Long id) {
         emprestimosRepository.deleteById(id);
     }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(Emprestimos.class));
+    }
 }
@@ -1,12 +1,26 @@
 package me.dio.dominio.service;
 
+import me.dio.dominio.dto.BulkDeleteResult;
+import me.dio.dominio.dto.CollectionVersion;
 import me.dio.dominio.model.Feature;
 import me.dio.dominio.repository.FeatureRepository;
+import me.dio.dominio.repository.FieldsetRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class FeatureService {
@@ -14,19 +28,73 @@ public class FeatureService {
     @Autowired
     private FeatureRepository featureRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Feature> findAll() {
         return featureRepository.findAll();
     }
 
+    @Cacheable(CacheNames.FEATURE_PAGES)
+    public List<Feature> findPage(Long after, Integer limit) {
+        return featureRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Feature> action) {
+        try (Stream<Feature> rows = featureRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                action.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    @Cacheable(CacheNames.FEATURES)
     public Optional<Feature> findById(Long id) {
         return featureRepository.findById(id);
     }
 
+    @Cacheable(CacheNames.FEATURE_PAGES)
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(Feature.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    @Cacheable(CacheNames.FEATURES)
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(Feature.class, fieldset(fields), id);
+    }
+
+    @Cacheable(cacheNames = CacheNames.FEATURE_VERSIONS, key = "#id")
+    public Optional<LocalDateTime> findUpdatedAt(Long id) {
+        return featureRepository.findUpdatedAtById(id);
+    }
+
+    @Cacheable(cacheNames = CacheNames.FEATURE_VERSIONS, key = "'collection'")
+    public CollectionVersion findCollectionVersion() {
+        return featureRepository.findCollectionVersion();
+    }
+
+    @CacheEvict(cacheNames = { CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
     public Feature save(Feature feature) {
         return featureRepository.save(feature);
     }
 
+    @CacheEvict(cacheNames = { CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
     public void deleteById(Long id) {
         featureRepository.deleteById(id);
     }
+
+    @CacheEvict(cacheNames = { CacheNames.FEATURES, CacheNames.FEATURE_PAGES, CacheNames.FEATURE_VERSIONS }, allEntries = true)
+    @Transactional
+    public BulkDeleteResult deleteAllById(Collection<Long> ids) {
+        return BulkDelete.inChunks(ids, featureRepository::deleteByIdIn);
+    }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(Feature.class));
+    }
 }
@@ -0,0 +1,37 @@
+package me.dio.dominio.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Valida os campos pedidos em ?fields=... contra os que a entidade permite e os
+ * devolve na ordem pedida, sem repetição e sempre com 'id' primeiro (o cursor da
+ * paginação).
+ */
+final class Fieldsets {
+
+    private Fieldsets() {
+    }
+
+    static List<String> resolve(Collection<String> requested, Set<String> selectable) {
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add("id");
+        for (String field : requested) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!selectable.contains(trimmed)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Campo desconhecido em 'fields': " + trimmed + ". Campos disponíveis: " + String.join(",", selectable));
+            }
+            fields.add(trimmed);
+        }
+        return List.copyOf(fields);
+    }
+}
@@ -0,0 +1,50 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.journal.MutationJournal;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gravações com o journal à frente do commit (write-ahead).
+ *
+ * Os registros entram no journal dentro da transação, logo depois do flush: as
+ * linhas alteradas já estão travadas no banco e os ids atribuídos, então duas
+ * gravações da mesma linha são registradas na ordem em que serão commitadas, e
+ * uma falha no flush (ex.: conflito de @Version) desfaz a transação antes de
+ * qualquer registro. Os registros formam um grupo do journal, que só vale com o
+ * marcador COMMIT gravado depois do commit; se o commit falhar, o grupo recebe
+ * ROLLBACK e é ignorado na leitura. O fsync é esperado depois do commit, sem
+ * segurar a conexão.
+ */
+@Component
+class JournaledTransactions {
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MutationJournal journal;
+
+    JournaledTransactions(PlatformTransactionManager transactionManager, MutationJournal journal) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = journal;
+    }
+
+    /**
+     * Executa 'write' em uma transação, grava no journal os registros de 'records'
+     * antes do commit e só retorna depois do fsync deles e do COMMIT.
+     */
+    <T> T execute(Supplier<T> write, Consumer<T> records) {
+        MutationJournal.Group[] group = new MutationJournal.Group[1];
+        T result = transactionTemplate.execute(status -> {
+            T value = write.get();
+            status.flush();
+            group[0] = journal.group(() -> records.accept(value));
+            return value;
+        });
+        journal.sync(group[0]);
+        return result;
+    }
+}
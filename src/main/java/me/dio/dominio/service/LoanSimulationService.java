@@ -0,0 +1,15 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.LoanSimulation;
+import me.dio.dominio.dto.LoanSimulationRequest;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoanSimulationService {
+
+    @Cacheable(cacheNames = CacheNames.LOAN_SIMULATIONS, key = "#request.cacheKey()")
+    public LoanSimulation simulate(LoanSimulationRequest request) {
+        return Amortization.simulate(request.cacheKey());
+    }
+}
@@ -1,12 +1,26 @@
 package me.dio.dominio.service;
 
+import me.dio.dominio.dto.BulkDeleteResult;
+import me.dio.dominio.dto.CollectionVersion;
 import me.dio.dominio.model.News;
+import me.dio.dominio.repository.FieldsetRepository;
 import me.dio.dominio.repository.NewsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class NewsService {
@@ -14,19 +28,73 @@ public class NewsService {
     @Autowired
     private NewsRepository newsRepository;
 
+    @Autowired
+    private FieldsetRepository fieldsetRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<News> findAll() {
         return newsRepository.findAll();
     }
 
+    @Cacheable(CacheNames.NEWS_PAGES)
+    public List<News> findPage(Long after, Integer limit) {
+        return newsRepository.findByIdGreaterThanOrderByIdAsc(Paging.after(after), Paging.limit(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<News> action) {
+        try (Stream<News> rows = newsRepository.streamAllByOrderByIdAsc()) {
+            rows.forEach(row -> {
+                action.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
+    @Cacheable(CacheNames.NEWS)
     public Optional<News> findById(Long id) {
         return newsRepository.findById(id);
     }
 
+    @Cacheable(CacheNames.NEWS_PAGES)
+    public List<Map<String, Object>> findPage(Long after, Integer limit, Collection<String> fields) {
+        return fieldsetRepository.findPage(News.class, fieldset(fields), Paging.after(after), Paging.limit(limit).max());
+    }
+
+    @Cacheable(CacheNames.NEWS)
+    public Optional<Map<String, Object>> findById(Long id, Collection<String> fields) {
+        return fieldsetRepository.findById(News.class, fieldset(fields), id);
+    }
+
+    @Cacheable(cacheNames = CacheNames.NEWS_VERSIONS, key = "#id")
+    public Optional<LocalDateTime> findUpdatedAt(Long id) {
+        return newsRepository.findUpdatedAtById(id);
+    }
+
+    @Cacheable(cacheNames = CacheNames.NEWS_VERSIONS, key = "'collection'")
+    public CollectionVersion findCollectionVersion() {
+        return newsRepository.findCollectionVersion();
+    }
+
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS }, allEntries = true)
     public News save(News news) {
         return newsRepository.save(news);
     }
 
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS }, allEntries = true)
     public void deleteById(Long id) {
         newsRepository.deleteById(id);
     }
+
+    @CacheEvict(cacheNames = { CacheNames.NEWS, CacheNames.NEWS_PAGES, CacheNames.NEWS_VERSIONS }, allEntries = true)
+    @Transactional
+    public BulkDeleteResult deleteAllById(Collection<Long> ids) {
+        return BulkDelete.inChunks(ids, newsRepository::deleteByIdIn);
+    }
+
+    private List<String> fieldset(Collection<String> fields) {
+        return Fieldsets.resolve(fields, fieldsetRepository.selectablePaths(News.class));
+    }
 }
@@ -0,0 +1,28 @@
+package me.dio.dominio.service;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * Regras comuns da paginação por cursor (keyset) usada pelos endpoints de listagem.
+ * O cliente informa o último id recebido em 'after' e o tamanho da página em 'limit';
+ * a consulta continua a partir desse id, sem OFFSET, com custo constante por página.
+ */
+final class Paging {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private Paging() {
+    }
+
+    static long after(Long after) {
+        return after == null || after < 0 ? 0L : after;
+    }
+
+    static Limit limit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Limit.of(DEFAULT_LIMIT);
+        }
+        return Limit.of(Math.min(limit, MAX_LIMIT));
+    }
+}
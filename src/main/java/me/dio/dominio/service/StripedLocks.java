@@ -0,0 +1,48 @@
+package me.dio.dominio.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fixo de locks indexado pelo id da entidade. Ids diferentes quase sempre
+ * caem em locks diferentes, então operações em contas distintas seguem em paralelo,
+ * sem um lock por conta (que cresceria com a tabela) nem um lock global.
+ */
+final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    int stripeOf(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (locks.length - 1);
+    }
+
+    /**
+     * Trava as faixas dos dois ids sempre em ordem crescente de índice, de modo que
+     * duas operações sobre o mesmo par (em qualquer sentido) nunca esperem uma pela
+     * outra em ciclo. Se os ids caem na mesma faixa, trava uma vez só.
+     */
+    Runnable lockBoth(long first, long second) {
+        int a = stripeOf(first);
+        int b = stripeOf(second);
+        ReentrantLock low = locks[Math.min(a, b)];
+        ReentrantLock high = locks[Math.max(a, b)];
+        low.lock();
+        if (high != low) {
+            high.lock();
+        }
+        return () -> {
+            if (high != low) {
+                high.unlock();
+            }
+            low.unlock();
+        };
+    }
+}
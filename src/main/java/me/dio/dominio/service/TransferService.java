@@ -0,0 +1,94 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.TransferRequest;
+import me.dio.dominio.dto.TransferResult;
+import me.dio.dominio.journal.MutationJournal;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Transferências entre contas.
+ * Dentro desta instância, as duas contas envolvidas são protegidas por locks em
+ * faixas (StripedLocks), adquiridos sempre na mesma ordem para não haver deadlock;
+ * a transação só começa depois dos locks, então quem espera não segura conexão.
+ * Entre instâncias diferentes, o @Version de Account detecta a concorrência e a
+ * transferência é refeita algumas vezes antes de desistir.
+ */
+@Service
+public class TransferService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MutationJournal journal;
+
+    @Autowired
+    private AccountLedger accountLedger;
+
+    @Autowired
+    private JournaledTransactions journaledTransactions;
+
+    private final StripedLocks locks;
+
+    public TransferService(@Value("${app.transfers.lock-stripes:256}") int lockStripes) {
+        this.locks = new StripedLocks(lockStripes);
+    }
+
+    public TransferResult transfer(TransferRequest request) {
+        long from = request.fromAccountId();
+        long to = request.toAccountId();
+        if (from == to) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "As contas de origem e destino devem ser diferentes");
+        }
+
+        Runnable unlock = locks.lockBoth(from, to);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Moved moved = journaledTransactions.execute(() -> move(from, to, request), written -> {
+                        journal.accountBalance(from, written.from().getBalance());
+                        journal.accountBalance(to, written.to().getBalance());
+                    });
+                    accountLedger.accountSaved(moved.from());
+                    accountLedger.accountSaved(moved.to());
+                    return new TransferResult(from, moved.from().getBalance(), to, moved.to().getBalance(), request.amount());
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt == MAX_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            unlock.run();
+        }
+    }
+
+    private Moved move(long fromId, long toId, TransferRequest request) {
+        Account from = find(fromId);
+        Account to = find(toId);
+        if (from.getBalance().compareTo(request.amount()) <= 0) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Saldo insuficiente na conta " + fromId);
+        }
+        from.setBalance(from.getBalance().subtract(request.amount()));
+        to.setBalance(to.getBalance().add(request.amount()));
+        return new Moved(from, to);
+    }
+
+    private Account find(long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Conta " + id + " não encontrada"));
+    }
+
+    /** As contas alteradas, com a @Version do commit depois da transação. */
+    private record Moved(Account from, Account to) {
+    }
+}
@@ -0,0 +1,19 @@
+package me.dio.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de 'tb_news' para leitura, com os mesmos campos do JSON de
+ * me.dio.dominio.model.News na aplicação MVC.
+ */
+@Table("tb_news")
+public record NewsItem(
+        @Id Long id,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String icon,
+        String description) {
+}
@@ -0,0 +1,13 @@
+package me.dio.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface NewsItemRepository extends ReactiveCrudRepository<NewsItem, Long> {
+
+    @Query("select * from tb_news where id > :after order by id limit :limit")
+    Flux<NewsItem> findPage(long after, int limit);
+
+    Flux<NewsItem> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,44 @@
+package me.dio.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Caminho de leitura reativo do feed de notícias (WebFlux + R2DBC), executado ao
+ * lado da aplicação MVC: outra porta, mesma tabela 'tb_news'. As requisições são
+ * atendidas pelas poucas threads do event loop do Netty e as linhas são enviadas
+ * conforme a demanda do cliente, sem segurar uma thread por requisição.
+ *
+ * A configuração fica em 'reactive-news.properties' para não se misturar com o
+ * 'application.properties' da aplicação MVC quando as duas estão no mesmo classpath
+ * (como nos benchmarks). Pela mesma razão, esta classe e o controller só são
+ * registrados em contextos reativos: a varredura de componentes da aplicação MVC
+ * ('me.dio') os ignora.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveNewsApplication {
+
+	public static void main(String[] args) {
+		builder().run(args);
+	}
+
+	/**
+	 * Netty explícito: com o Tomcat também no classpath (benchmarks), o Spring Boot
+	 * escolheria o Tomcat com a ponte Servlet em vez do event loop.
+	 */
+	@Bean
+	NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+	public static SpringApplicationBuilder builder() {
+		return new SpringApplicationBuilder(ReactiveNewsApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.properties("spring.config.name=reactive-news");
+	}
+}
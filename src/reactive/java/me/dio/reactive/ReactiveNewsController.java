@@ -0,0 +1,38 @@
+package me.dio.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/news")
+public class ReactiveNewsController {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private NewsItemRepository newsItemRepository;
+
+    @GetMapping
+    public Flux<NewsItem> getAllNews(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        int size = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return newsItemRepository.findPage(after == null ? 0 : after, size);
+    }
+
+    @GetMapping(params = "stream=true", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<NewsItem> streamNews() {
+        return newsItemRepository.findAllByOrderByIdAsc();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<NewsItem> getNewsById(@PathVariable Long id) {
+        return newsItemRepository.findById(id);
+    }
+}
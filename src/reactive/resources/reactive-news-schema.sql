@@ -0,0 +1,8 @@
+create table if not exists tb_news (
+    id bigint not null primary key,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    icon varchar(255) not null,
+    description varchar(255) not null,
+    user_id bigint
+);
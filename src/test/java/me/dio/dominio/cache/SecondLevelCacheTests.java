@@ -0,0 +1,164 @@
+package me.dio.dominio.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import me.dio.dominio.dto.CardAuthorization;
+import me.dio.dominio.dto.CardAuthorizationRequest;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.model.Card;
+import me.dio.dominio.model.Emprestimos;
+import me.dio.dominio.repository.AccountRepository;
+import me.dio.dominio.repository.UserRepository;
+import me.dio.dominio.service.AccountService;
+import me.dio.dominio.service.CardAuthorizationService;
+import me.dio.dominio.service.CardService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdIsServedFromTheCacheAfterTheFirstLoad() {
+        Long id = accountRepository.save(account()).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        accountService.findById(id).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(1);
+
+        Account cached = accountService.findById(id).orElseThrow();
+        assertThat(cached.getBalance()).isEqualByComparingTo("100.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("accounts").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userAssociationsAreResolvedFromTheirRegions() {
+        ApplicationUser saved = userRepository.save(user());
+        find(saved.getId());
+        statistics.clear();
+
+        ApplicationUser user = find(saved.getId());
+
+        assertThat(user.getAccount().getNumber()).isEqualTo(saved.getAccount().getNumber());
+        assertThat(user.getCard().getNumber()).isEqualTo(saved.getCard().getNumber());
+        assertThat(user.getEmprestimos().getAmount()).isEqualByComparingTo("2000.00");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        for (String region : List.of("users", "accounts", "cards", "emprestimos")) {
+            assertThat(statistics.getDomainDataRegionStatistics(region).getHitCount()).as(region).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void bulkDeleteEvictsTheRegion() {
+        Long id = accountRepository.save(account()).getId();
+        assertThat(entityManagerFactory.getCache().contains(Account.class, id)).isTrue();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> accountRepository.deleteByIdIn(List.of(id)));
+
+        assertThat(entityManagerFactory.getCache().contains(Account.class, id)).isFalse();
+        assertThat(accountService.findById(id)).isEmpty();
+    }
+
+    @Test
+    void cardDebitUpdatesOnlyTheDebitedEntry() {
+        Card debited = cardService.save(card());
+        Card other = cardService.save(card());
+        CardAuthorization authorization = cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(debited.getNumber(), new BigDecimal("125.50")));
+        cardAuthorizationService.capture(authorization.authorizationId());
+
+        cardAuthorizationService.flush();
+
+        assertThat(entityManagerFactory.getCache().contains(Card.class, other.getId())).isTrue();
+        statistics.clear();
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            assertThat(entityManager.find(Card.class, debited.getId()).getCreditLimit()).isEqualByComparingTo("874.50");
+            assertThat(entityManager.find(Card.class, other.getId()).getCreditLimit()).isEqualByComparingTo("1000.00");
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private ApplicationUser find(Long id) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.find(ApplicationUser.class, id);
+        }
+    }
+
+    private static Account account() {
+        Account account = new Account();
+        account.setNumber("L2-" + System.nanoTime() % 1_000_000_000_000L);
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setCreditLimit(new BigDecimal("500.00"));
+        return account;
+    }
+
+    private static Card card() {
+        Card card = new Card();
+        card.setNumber("5" + String.format("%015d", System.nanoTime() % 1_000_000_000_000_000L));
+        card.setCreditLimit(new BigDecimal("1000.00"));
+        return card;
+    }
+
+    private static ApplicationUser user() {
+        Card card = card();
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setAmount(new BigDecimal("2000.00"));
+        emprestimos.setDate(LocalDateTime.now());
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setName("Usuário em cache");
+        user.setAccount(account());
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        return user;
+    }
+}
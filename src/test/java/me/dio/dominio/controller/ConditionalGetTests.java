@@ -0,0 +1,142 @@
+package me.dio.dominio.controller;
+
+import me.dio.dominio.dto.TransferRequest;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.model.News;
+import me.dio.dominio.service.AccountService;
+import me.dio.dominio.service.NewsService;
+import me.dio.dominio.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Test
+    void newsItemIsNotModifiedUntilSaved() throws Exception {
+        News news = newsService.save(news("Primeira"));
+        String path = "/api/news/" + news.getId();
+
+        String etag = fetch(path, null);
+        assertNotModified(path, etag);
+        assertNotModified(path + "?fields=description", etag);
+
+        news.setDescription("Alterada");
+        newsService.save(news);
+        assertThat(fetch(path, etag)).isNotEqualTo(etag);
+        assertThat(fetch(path + "?fields=description", etag)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void newsCollectionChangesWithSavesAndDeletes() throws Exception {
+        News first = newsService.save(news("Coleção 1"));
+        News second = newsService.save(news("Coleção 2"));
+        News third = newsService.save(news("Coleção 3"));
+
+        String etag = fetch("/api/news", null);
+        assertNotModified("/api/news", etag);
+        assertNotModified("/api/news?fields=description", etag);
+
+        mockMvc.perform(delete("/api/news/" + first.getId())).andExpect(status().isOk());
+        String afterDelete = fetch("/api/news", etag);
+        assertThat(afterDelete).isNotEqualTo(etag);
+
+        mockMvc.perform(delete("/api/news").param("ids", second.getId() + "," + third.getId()))
+                .andExpect(status().isOk());
+        String afterBulkDelete = fetch("/api/news", afterDelete);
+        assertThat(afterBulkDelete).isNotEqualTo(afterDelete);
+
+        newsService.save(news("Coleção 4"));
+        assertThat(fetch("/api/news", afterBulkDelete)).isNotEqualTo(afterBulkDelete);
+    }
+
+    @Test
+    void accountItemUsesTheRowVersion() throws Exception {
+        Account from = accountService.save(account("500.00"));
+        Account to = accountService.save(account("1.00"));
+        String path = "/api/accounts/" + from.getId();
+
+        String etag = fetch(path, null);
+        assertThat(etag).isEqualTo("W/\"" + from.getId() + "-v" + from.getVersion() + "\"");
+        assertNotModified(path, etag);
+        assertNotModified(path + "?fields=balance", etag);
+
+        transferService.transfer(new TransferRequest(from.getId(), to.getId(), new BigDecimal("1.00")));
+        String afterFirst = fetch(path, etag);
+        assertThat(afterFirst).isNotEqualTo(etag);
+
+        // Mesmo milissegundo ou não, cada gravação muda o ETag
+        transferService.transfer(new TransferRequest(from.getId(), to.getId(), new BigDecimal("1.00")));
+        assertThat(fetch(path + "?fields=balance", afterFirst)).isNotEqualTo(afterFirst);
+    }
+
+    @Test
+    void accountCollectionChangesWithSaves() throws Exception {
+        accountService.save(account("10.00"));
+
+        String etag = fetch("/api/accounts", null);
+        assertNotModified("/api/accounts", etag);
+
+        accountService.save(account("20.00"));
+        assertThat(fetch("/api/accounts", etag)).isNotEqualTo(etag);
+    }
+
+    /** GET com 'ifNoneMatch' que deve responder 200 com ETag; devolve o ETag. */
+    private String fetch(String path, String ifNoneMatch) throws Exception {
+        MvcResult result = mockMvc.perform(ifNoneMatch == null ? get(path) : get(path).header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(result.getResponse().getContentAsString()).isNotEmpty();
+        return etag;
+    }
+
+    private void assertNotModified(String path, String etag) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    private static News news(String description) {
+        News news = new News();
+        news.setIcon("icone.svg");
+        news.setDescription(description);
+        return news;
+    }
+
+    private static Account account(String balance) {
+        Account account = new Account();
+        account.setNumber("CG" + System.nanoTime() % 1_000_000_000_000L);
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal(balance));
+        account.setCreditLimit(new BigDecimal("100.00"));
+        return account;
+    }
+}
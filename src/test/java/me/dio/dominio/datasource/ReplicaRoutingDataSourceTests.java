@@ -0,0 +1,86 @@
+package me.dio.dominio.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private final AtomicReference<String> client = new AtomicReference<>();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate writes;
+
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingDataSource target = new ReplicaRoutingDataSource(
+                database("primary"), List.of(database("replica-1"), database("replica-2")),
+                Duration.ofMillis(300), client::get);
+        target.afterPropertiesSet();
+        DataSource routing = new LazyConnectionDataSourceProxy(target);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsRotateAcrossReplicas() {
+        assertThat(List.of(read(), read(), read())).containsExactly("replica-1", "replica-2", "replica-1");
+        String primary = writes.execute(status -> server());
+        assertThat(primary).isEqualTo("primary");
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimaryDuringWindow() throws InterruptedException {
+        client.set("a");
+        writes.executeWithoutResult(status -> jdbcTemplate.update("update marker set name = name"));
+
+        assertThat(read()).isEqualTo("primary");
+        client.set("b");
+        assertThat(read()).startsWith("replica-");
+
+        Thread.sleep(500);
+        client.set("a");
+        assertThat(read()).startsWith("replica-");
+    }
+
+    @Test
+    void readsOutsideTransactionsDoNotPinTheClientToPrimary() {
+        client.set("c");
+        assertThat(server()).isEqualTo("primary");
+        writes.execute(status -> server());
+
+        assertThat(read()).startsWith("replica-");
+    }
+
+    private String read() {
+        return reads.execute(status -> server());
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("create table marker (name varchar(20)); insert into marker values ('" + name + "')");
+        return dataSource;
+    }
+}
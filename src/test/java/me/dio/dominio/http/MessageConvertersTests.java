@@ -0,0 +1,130 @@
+package me.dio.dominio.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.dio.dominio.dto.ApplicationUserSummary;
+import me.dio.dominio.json.JsonConfiguration;
+import me.dio.dominio.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageConvertersTests {
+
+    private static final Type USERS = new ParameterizedTypeReference<List<ApplicationUser>>() {
+    }.getType();
+
+    private final MessageConvertersConfiguration configuration = new MessageConvertersConfiguration();
+
+    private final ObjectMapper json = builder().build();
+
+    @Test
+    void cborRoundTripsTheUserGraph() throws Exception {
+        assertRoundTrip(configuration.cborHttpMessageConverter(builder()), MediaType.valueOf("application/cbor"));
+    }
+
+    @Test
+    void smileRoundTripsTheUserGraph() throws Exception {
+        assertRoundTrip(configuration.smileHttpMessageConverter(builder()), MediaType.valueOf("application/x-jackson-smile"));
+    }
+
+    @Test
+    void protobufRoundTripsTheUserGraph() throws Exception {
+        assertRoundTrip(configuration.protobufHttpMessageConverter(builder()), ModelProtobufHttpMessageConverter.PROTOBUF);
+    }
+
+    @Test
+    void protobufOnlyWritesModelTypes() throws Exception {
+        ModelProtobufHttpMessageConverter converter = configuration.protobufHttpMessageConverter(builder());
+        Type summaries = new ParameterizedTypeReference<List<ApplicationUserSummary>>() {
+        }.getType();
+        Type fields = new ParameterizedTypeReference<List<Map<String, Object>>>() {
+        }.getType();
+        Type account = new ParameterizedTypeReference<Optional<Account>>() {
+        }.getType();
+
+        assertThat(converter.canWrite(summaries, List.class, ModelProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(fields, List.class, ModelProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(account, Optional.class, ModelProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(USERS, List.class, MediaType.APPLICATION_JSON)).isFalse();
+
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(Optional.of(users().get(0).getAccount()), account, ModelProtobufHttpMessageConverter.PROTOBUF, output);
+        Account read = (Account) converter.read(Account.class, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+        assertThat(read.getBalance()).isEqualTo(new BigDecimal("1234.56"));
+    }
+
+    private void assertRoundTrip(GenericHttpMessageConverter<Object> converter, MediaType mediaType) throws Exception {
+        List<ApplicationUser> users = users();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(users, USERS, mediaType, output);
+        Object read = converter.read(USERS, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertThat(output.getBodyAsBytes().length).isLessThan(json.writeValueAsBytes(users).length);
+        assertThat(json.writeValueAsString(read)).isEqualTo(json.writeValueAsString(users));
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        JsonConfiguration json = new JsonConfiguration();
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(json.blackbirdModule(), json.hibernateModule(), json.fastWritersModule());
+    }
+
+    private static List<ApplicationUser> users() {
+        Account account = new Account();
+        account.setId(1L);
+        account.setNumber("00000001-0");
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal("1234.56"));
+        account.setCreditLimit(new BigDecimal("500.00"));
+
+        Card card = new Card();
+        card.setId(2L);
+        card.setNumber("4111111111111111");
+        card.setCreditLimit(new BigDecimal("1000.00"));
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setId(3L);
+        emprestimos.setAmount(new BigDecimal("2000.00"));
+        emprestimos.setDate(LocalDateTime.of(2024, 3, 1, 10, 30, 0, 123_000_000));
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        Feature feature = new Feature();
+        feature.setId(4L);
+        feature.setIcon("pix.svg");
+        feature.setDescription("Pix");
+        News news = new News();
+        news.setId(5L);
+        news.setIcon("promo.svg");
+        news.setDescription("Promoção");
+
+        ApplicationUser user = new ApplicationUser();
+        user.setId(7L);
+        user.setName("Usuário");
+        user.setAccount(account);
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        user.setFeatures(List.of(feature));
+        user.setNews(List.of(news));
+
+        ApplicationUser empty = new ApplicationUser();
+        empty.setId(8L);
+        empty.setName("Sem conta");
+        return List.of(user, empty);
+    }
+}
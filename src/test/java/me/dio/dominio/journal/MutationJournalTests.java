@@ -0,0 +1,125 @@
+package me.dio.dominio.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutationJournalTests {
+
+    private static final int THREADS = 8;
+    private static final int ENTRIES_PER_THREAD = 500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsSurviveRotationAndReopen() throws Exception {
+        try (MutationJournal journal = open()) {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long accountId = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 1; i <= ENTRIES_PER_THREAD; i++) {
+                        journal.sync(journal.accountBalance(accountId, BigDecimal.valueOf(i, 2)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            executor.shutdown();
+        }
+        assertThat(JournalReader.segments(directory)).hasSizeGreaterThan(1);
+
+        try (MutationJournal journal = open()) {
+            journal.cardLimit(1, new BigDecimal("100.00"));
+            journal.sync(journal.cardDebit(1, new BigDecimal("0.07")));
+        }
+
+        JournalReplay replay = new JournalReplay();
+        long entries = JournalReader.read(directory, replay::apply);
+
+        assertThat(entries).isEqualTo(THREADS * ENTRIES_PER_THREAD + 2);
+        assertThat(replay.gaps()).isZero();
+        assertThat(replay.accountBalances()).hasSize(THREADS).containsValue(5_00L);
+        assertThat(replay.cardLimits()).containsEntry(1L, 99_93L);
+    }
+
+    @Test
+    void discardsTornRecordOnReopen() throws IOException {
+        try (MutationJournal journal = open()) {
+            journal.sync(journal.accountBalance(1, new BigDecimal("10.00")));
+        }
+        Path segment = JournalReader.segments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(JournalEntry.SIZE);
+            file.writeInt(1);
+            file.writeLong(2);
+        }
+
+        try (MutationJournal journal = open()) {
+            assertThat(journal.accountBalance(1, new BigDecimal("20.00"))).isEqualTo(2);
+        }
+
+        JournalReplay replay = new JournalReplay();
+        assertThat(JournalReader.read(directory, replay::apply)).isEqualTo(2);
+        assertThat(replay.accountBalances()).containsEntry(1L, 20_00L);
+    }
+
+    @Test
+    void replaySkipsGroupsWithoutCommit() {
+        try (MutationJournal journal = open()) {
+            journal.sync(journal.group(() -> journal.accountBalance(1, new BigDecimal("10.00"))));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                journal.group(() -> {
+                    journal.accountBalance(1, new BigDecimal("20.00"));
+                    journal.cardLimit(2, new BigDecimal("50.00"));
+                });
+                journal.cardLimit(3, new BigDecimal("30.00"));
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Queda antes do fim da transação: o grupo fica sem marcador
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                journal.group(() -> journal.accountBalance(4, new BigDecimal("40.00")));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            journal.sync(journal.cardLimit(5, new BigDecimal("50.00")));
+        }
+
+        JournalReplay replay = new JournalReplay();
+        JournalReader.read(directory, replay::apply);
+        replay.finish();
+
+        assertThat(replay.accountBalances()).isEqualTo(Map.of(1L, 10_00L));
+        assertThat(replay.cardLimits()).isEqualTo(Map.of(3L, 30_00L, 5L, 50_00L));
+        assertThat(replay.discarded()).isEqualTo(3);
+        assertThat(replay.gaps()).isZero();
+    }
+
+    private MutationJournal open() {
+        return new MutationJournal(true, directory, DataSize.ofKilobytes(4));
+    }
+}
@@ -0,0 +1,114 @@
+package me.dio.dominio.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.dio.dominio.model.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSerializationTests {
+
+    private final ObjectMapper standard = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper tuned = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new JsonConfiguration().blackbirdModule(),
+                    new JsonConfiguration().hibernateModule(),
+                    new JsonConfiguration().fastWritersModule())
+            .build();
+
+    @Test
+    void writesBigDecimalsLikeTheDefaultSerializer() throws Exception {
+        List<BigDecimal> values = new ArrayList<>(List.of(
+                BigDecimal.ZERO, new BigDecimal("0.00"), new BigDecimal("-0.01"), new BigDecimal("100.00"),
+                new BigDecimal("1.99"), new BigDecimal("-12345678901.23"), new BigDecimal("0.000001"),
+                new BigDecimal("0.0000001"), new BigDecimal("1E+3"), new BigDecimal("999999999999999999"),
+                new BigDecimal("-999999999999999999"), new BigDecimal("1234567890123456789.5"),
+                new BigDecimal("0.123456789012345678"), BigDecimal.valueOf(Long.MIN_VALUE)));
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            values.add(BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(-2, 20)));
+        }
+
+        assertThat(tuned.writeValueAsString(values)).isEqualTo(standard.writeValueAsString(values));
+    }
+
+    @Test
+    void writesLocalDateTimesLikeTheDefaultSerializer() throws Exception {
+        List<LocalDateTime> values = new ArrayList<>(List.of(
+                LocalDateTime.of(2024, 1, 2, 3, 4), LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 100_000_000), LocalDateTime.of(0, 1, 1, 0, 0, 0, 1),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999), LocalDateTime.of(10_000, 1, 1, 0, 0),
+                LocalDateTime.of(-1, 6, 15, 12, 0), LocalDateTime.MIN, LocalDateTime.MAX));
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            values.add(LocalDateTime.of(random.nextInt(0, 10_000), random.nextInt(1, 13), random.nextInt(1, 29),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    random.nextBoolean() ? 0 : random.nextInt(1_000_000_000) / (int) Math.pow(10, random.nextInt(9))));
+        }
+
+        assertThat(tuned.writeValueAsString(values)).isEqualTo(standard.writeValueAsString(values));
+        assertThat(tuned.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(values))
+                .isEqualTo(standard.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(values));
+    }
+
+    @Test
+    void honorsJsonFormatOnProperties() throws Exception {
+        Formatted value = new Formatted(new BigDecimal("10.50"), LocalDateTime.of(2024, 5, 6, 7, 8, 9));
+
+        assertThat(tuned.writeValueAsString(value)).isEqualTo(standard.writeValueAsString(value))
+                .isEqualTo("{\"amount\":\"10.50\",\"date\":\"06/05/2024\"}");
+    }
+
+    @Test
+    void writesTheUserGraphLikeTheDefaultMapper() throws Exception {
+        Account account = new Account();
+        account.setId(1L);
+        account.setNumber("00000001-0");
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal("1234.56"));
+        account.setCreditLimit(new BigDecimal("500.00"));
+
+        Card card = new Card();
+        card.setNumber("4111111111111111");
+        card.setCreditLimit(new BigDecimal("1000.00"));
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setAmount(new BigDecimal("2000.00"));
+        emprestimos.setDate(LocalDateTime.of(2024, 3, 1, 10, 30, 0, 123_000_000));
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        Feature feature = new Feature();
+        feature.setIcon("pix.svg");
+        feature.setDescription("Pix");
+        News news = new News();
+        news.setIcon("promo.svg");
+        news.setDescription("Promoção");
+
+        ApplicationUser user = new ApplicationUser();
+        user.setId(7L);
+        user.setName("Usuário");
+        user.setAccount(account);
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        user.setFeatures(List.of(feature));
+        user.setNews(List.of(news));
+
+        assertThat(tuned.writeValueAsString(List.of(user, user))).isEqualTo(standard.writeValueAsString(List.of(user, user)));
+    }
+
+    record Formatted(@JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal amount,
+                     @JsonFormat(pattern = "dd/MM/yyyy") LocalDateTime date) {
+    }
+}
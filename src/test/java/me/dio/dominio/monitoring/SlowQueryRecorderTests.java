@@ -0,0 +1,65 @@
+package me.dio.dominio.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SlowQueryRecorderTests {
+
+    @Test
+    void normalizesLiteralsAndInLists() {
+        assertThat(SlowQueryRecorder.normalize("select a1_0.id from tb_account a1_0\n  where a1_0.number in (?, ?,?)"
+                + " and a1_0.agency='0001' and a1_0.balance > 10.50"))
+                .isEqualTo("select a1_0.id from tb_account a1_0 where a1_0.number in (?...)"
+                        + " and a1_0.agency=? and a1_0.balance > ?");
+    }
+
+    @Test
+    void aggregatesByRepositoryAndNormalizedSql() throws Exception {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 0, 100);
+        recorder.start();
+        try {
+            execute(recorder, "select * from tb_card where id = 1");
+            execute(recorder, "select * from tb_card where id = 2");
+            execute(recorder, "update tb_card set available_limit = ? where id = ?");
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (recorder.report(10).recorded() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            SlowQueryRecorder.Report report = recorder.report(10);
+            assertThat(report.dropped()).isZero();
+            assertThat(report.repositories().get(SlowQueryRecorder.OUTSIDE_REPOSITORY))
+                    .extracting(SlowQueryRecorder.QueryStats::sql, SlowQueryRecorder.QueryStats::slowCount)
+                    .containsExactlyInAnyOrder(
+                            tuple("select * from tb_card where id = ?", 2L),
+                            tuple("update tb_card set available_limit = ? where id = ?", 1L));
+        } finally {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void dropsEntriesWhenTheQueueIsFull() {
+        // Sem a thread de gravação, nada é consumido da fila
+        SlowQueryRecorder recorder = new SlowQueryRecorder(Duration.ZERO, 0, 2);
+        for (int i = 0; i < 5; i++) {
+            execute(recorder, "select 1");
+        }
+
+        assertThat(recorder.report(10).dropped()).isEqualTo(3);
+    }
+
+    private static void execute(SlowQueryRecorder recorder, String sql) {
+        ExecutionInfo info = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        recorder.beforeQuery(info, queries);
+        recorder.afterQuery(info, queries);
+    }
+}
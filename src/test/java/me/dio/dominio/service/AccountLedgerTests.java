@@ -0,0 +1,142 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.AccountStats;
+import me.dio.dominio.dto.TransferRequest;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AccountLedgerTests {
+
+    @Autowired
+    private AccountLedger accountLedger;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private ApplicationUserService applicationUserService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void statsFollowSavesTransfersAndDeletes() {
+        String agency = agency();
+        List<Long> ids = new ArrayList<>();
+        for (String balance : List.of("10.00", "250.50", "99.99", "1000.01", "42.00")) {
+            ids.add(accountService.save(account(agency, balance)).getId());
+        }
+        transferService.transfer(new TransferRequest(ids.get(3), ids.get(0), new BigDecimal("500.00")));
+        accountService.deleteById(ids.get(4));
+
+        AccountStats stats = accountService.findStats(agency, 3);
+
+        assertThat(stats.total()).isEqualTo(expected(agency));
+        assertThat(stats.total().balance()).isEqualByComparingTo("1360.50");
+        assertThat(stats.total().minBalance()).isEqualByComparingTo("99.99");
+        assertThat(stats.total().maxBalance()).isEqualByComparingTo("510.00");
+        assertThat(stats.agencies()).containsExactly(stats.total());
+        assertThat(stats.top()).extracting(AccountStats.RankedAccount::id)
+                .containsExactly(ids.get(0), ids.get(3), ids.get(1));
+    }
+
+    @Test
+    void bulkUserDeleteRemovesTheirAccounts() {
+        String agency = agency();
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ApplicationUser user = new ApplicationUser();
+            user.setName("Usuário " + i);
+            user.setAccount(account(agency, "100.00"));
+            users.add(applicationUserService.save(user).getId());
+        }
+        assertThat(accountService.findStats(agency, null).total().accounts()).isEqualTo(3);
+
+        applicationUserService.deleteAllById(users.subList(0, 2));
+        applicationUserService.deleteById(users.get(2));
+
+        AccountStats stats = accountService.findStats(agency, null);
+        assertThat(stats.total().accounts()).isZero();
+        assertThat(stats.total().minBalance()).isNull();
+        assertThat(stats.top()).isEmpty();
+    }
+
+    @Test
+    void lateUpdatesDoNotOverwriteNewerVersionsOrDeletes() {
+        String agency = agency();
+        Account first = accountService.save(account(agency, "100.00"));
+        Account second = accountService.save(account(agency, "100.00"));
+        transferService.transfer(new TransferRequest(first.getId(), second.getId(), new BigDecimal("40.00")));
+
+        // Gravações anteriores chegando depois da transferência e da exclusão
+        accountLedger.accountSaved(first);
+        accountService.deleteById(second.getId());
+        accountLedger.accountSaved(second);
+
+        AccountStats stats = accountService.findStats(agency, null);
+        assertThat(stats.total()).isEqualTo(expected(agency));
+        assertThat(stats.total().balance()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void loadRebuildsTheSameStatsFromTheDatabase() {
+        String agency = agency();
+        for (int i = 1; i <= 20; i++) {
+            accountService.save(account(agency, i + ".25"));
+        }
+
+        AccountLedger rebuilt = new AccountLedger(accountRepository, transactionManager);
+        rebuilt.load();
+
+        assertThat(rebuilt.stats(agency, 5)).isEqualTo(accountLedger.stats(agency, 5));
+        assertThat(rebuilt.stats(agency, 5).total()).isEqualTo(expected(agency));
+    }
+
+    private AccountStats.Totals expected(String agency) {
+        List<BigDecimal> balances = accountRepository.findAll().stream()
+                .filter(account -> agency.equals(account.getAgency()))
+                .map(Account::getBalance)
+                .toList();
+        BigDecimal limits = accountRepository.findAll().stream()
+                .filter(account -> agency.equals(account.getAgency()))
+                .map(Account::getCreditLimit)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new AccountStats.Totals(agency, balances.size(),
+                balances.stream().reduce(BigDecimal.ZERO, BigDecimal::add),
+                balances.stream().min(Comparator.naturalOrder()).orElse(null),
+                balances.stream().max(Comparator.naturalOrder()).orElse(null),
+                limits);
+    }
+
+    private static String agency() {
+        return "AG" + System.nanoTime() % 1_000_000_000L;
+    }
+
+    private static Account account(String agency, String balance) {
+        Account account = new Account();
+        account.setNumber("LG" + System.nanoTime() % 1_000_000_000_000L);
+        account.setAgency(agency);
+        account.setBalance(new BigDecimal(balance));
+        account.setCreditLimit(new BigDecimal("300.00"));
+        return account;
+    }
+}
@@ -0,0 +1,84 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.AmortizationSystem;
+import me.dio.dominio.dto.LoanSimulation;
+import me.dio.dominio.dto.LoanSimulation.Installment;
+import me.dio.dominio.dto.LoanSimulationRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmortizationTests {
+
+    @Test
+    void priceHasEqualInstallmentsAndAmortizesThePrincipal() {
+        LoanSimulation simulation = simulate("1000.00", "1.00", 12, AmortizationSystem.PRICE);
+
+        assertThat(simulation.installments()).hasSize(12);
+        assertThat(simulation.installments().get(0).payment()).isEqualByComparingTo("88.85");
+        assertThat(simulation.installments().get(0).interest()).isEqualByComparingTo("10.00");
+        assertThat(simulation.installments().subList(0, 11))
+                .allSatisfy(installment -> assertThat(installment.payment()).isEqualByComparingTo("88.85"));
+        assertThat(totalAmortization(simulation)).isEqualByComparingTo("1000.00");
+        assertThat(simulation.installments().get(11).balance()).isEqualByComparingTo("0.00");
+        assertThat(simulation.totalPaid()).isEqualByComparingTo(simulation.amount().add(simulation.totalInterest()));
+    }
+
+    @Test
+    void sacHasConstantAmortizationAndDecreasingInstallments() {
+        LoanSimulation simulation = simulate("1000.00", "1.00", 12, AmortizationSystem.SAC);
+
+        assertThat(simulation.installments().get(0).amortization()).isEqualByComparingTo("83.33");
+        assertThat(simulation.installments().get(0).payment()).isEqualByComparingTo("93.33");
+        assertThat(simulation.installments().get(11).amortization()).isEqualByComparingTo("83.37");
+        assertThat(simulation.installments().get(11).payment())
+                .isLessThan(simulation.installments().get(0).payment());
+        assertThat(totalAmortization(simulation)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void zeroRateSplitsThePrincipal() {
+        LoanSimulation simulation = simulate("100.00", "0", 3, AmortizationSystem.PRICE);
+
+        assertThat(simulation.totalInterest()).isEqualByComparingTo("0.00");
+        assertThat(simulation.installments()).extracting(Installment::payment)
+                .map(BigDecimal::toPlainString)
+                .containsExactly("33.33", "33.33", "33.34");
+    }
+
+    @Test
+    void equivalentAmountsShareTheCacheKey() {
+        LoanSimulationRequest a = new LoanSimulationRequest(new BigDecimal("1000"), new BigDecimal("1.5"), 24, null);
+        LoanSimulationRequest b = new LoanSimulationRequest(new BigDecimal("1000.00"), new BigDecimal("1.50"), 24,
+                AmortizationSystem.PRICE);
+
+        assertThat(a.cacheKey()).isEqualTo(b.cacheKey());
+    }
+
+    @Test
+    void moreThanTwoDecimalsAreRejectedInsteadOfRounded() {
+        LoanSimulationRequest request = new LoanSimulationRequest(new BigDecimal("1000.005"), new BigDecimal("1.499"),
+                24, null);
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            assertThat(factory.getValidator().validate(request))
+                    .extracting(violation -> violation.getPropertyPath().toString())
+                    .containsExactlyInAnyOrder("amount", "interestRate");
+        }
+    }
+
+    private static LoanSimulation simulate(String amount, String rate, int term, AmortizationSystem system) {
+        return Amortization.simulate(
+                new LoanSimulationRequest(new BigDecimal(amount), new BigDecimal(rate), term, system).cacheKey());
+    }
+
+    private static BigDecimal totalAmortization(LoanSimulation simulation) {
+        return simulation.installments().stream()
+                .map(Installment::amortization)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
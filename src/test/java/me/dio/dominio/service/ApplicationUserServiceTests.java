@@ -0,0 +1,227 @@
+package me.dio.dominio.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import me.dio.dominio.dto.ApplicationUserSummary;
+import me.dio.dominio.dto.BulkDeleteResult;
+import me.dio.dominio.dto.UserDashboard;
+import me.dio.dominio.model.*;
+import me.dio.dominio.repository.AccountRepository;
+import me.dio.dominio.repository.CardRepository;
+import me.dio.dominio.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ApplicationUserServiceTests {
+
+    private static final int USERS = 30;
+
+    @Autowired
+    private ApplicationUserService applicationUserService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    private long firstId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ApplicationUser> users = new ArrayList<>();
+        long seed = System.nanoTime() % 1_000_000_000L;
+        for (int i = 0; i < USERS; i++) {
+            users.add(newUser(seed, i));
+        }
+        firstId = userRepository.saveAll(users).get(0).getId();
+        statistics.clear();
+    }
+
+    @Test
+    void fullPlanLoadsPageWithConstantNumberOfStatements() throws Exception {
+        List<ApplicationUser> page = applicationUserService.findPage(firstId - 1, USERS);
+        String json = objectMapper.writeValueAsString(page);
+
+        assertThat(page).hasSize(USERS);
+        assertThat(page).allSatisfy(user -> {
+            assertThat(user.getFeatures()).hasSize(2);
+            assertThat(user.getNews()).hasSize(2);
+        });
+        assertThat(json).contains("\"features\"", "\"news\"", "\"account\"", "\"card\"");
+        // usuários + associações um para um, features, news
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void fullPlanLoadsSingleUserWithConstantNumberOfStatements() throws Exception {
+        ApplicationUser user = applicationUserService.findById(firstId).orElseThrow();
+        objectMapper.writeValueAsString(user);
+
+        assertThat(user.getAccount().getNumber()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void dashboardIsAssembledWithConstantNumberOfStatements() throws Exception {
+        UserDashboard dashboard = applicationUserService.findDashboard(firstId).orElseThrow();
+        objectMapper.writeValueAsString(dashboard);
+
+        assertThat(dashboard.accountNumber()).startsWith("A");
+        assertThat(dashboard.cardNumber()).hasSize(16);
+        assertThat(dashboard.loanAmount()).isEqualByComparingTo("2000.00");
+        assertThat(dashboard.features()).extracting(UserDashboard.Item::description).containsExactlyInAnyOrder("pix", "boleto");
+        assertThat(dashboard.news()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void summaryPlanUsesSingleStatement() throws Exception {
+        List<ApplicationUserSummary> page = applicationUserService.findSummaryPage(firstId - 1, USERS);
+        objectMapper.writeValueAsString(page);
+
+        assertThat(page).hasSize(USERS);
+        assertThat(page.get(0).accountNumber()).isNotNull();
+        assertThat(page.get(0).cardNumber()).hasSize(16);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fieldsetSelectsOnlyRequestedColumnsInSingleStatement() throws Exception {
+        List<Map<String, Object>> page = applicationUserService.findPage(firstId - 1, USERS,
+                List.of("name", "account.number", "card.creditLimit"));
+        String json = objectMapper.writeValueAsString(page);
+
+        assertThat(page).hasSize(USERS);
+        assertThat(page.get(0)).containsOnlyKeys("id", "name", "account", "card");
+        assertThat(page.get(0).get("account")).asInstanceOf(InstanceOfAssertFactories.MAP)
+                .containsOnlyKeys("number")
+                .extractingByKey("number").asString().startsWith("A");
+        assertThat(json).doesNotContain("features", "news", "balance", "emprestimos");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fieldsetRejectsUnknownAndCollectionFields() {
+        assertThatThrownBy(() -> applicationUserService.findById(firstId, List.of("features")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("account.number");
+    }
+
+    @Test
+    void streamLoadsCollectionsOncePerChunk() throws Exception {
+        long users = userRepository.count();
+        statistics.clear();
+        List<Long> exported = new ArrayList<>();
+
+        applicationUserService.streamAll(user -> {
+            assertThat(user.getFeatures()).isNotNull();
+            exported.add(user.getId());
+        });
+
+        assertThat(exported).hasSize((int) users).isSorted();
+        long chunks = (users + 99) / 100;
+        // consulta paginada pelo cursor + features e news uma vez por bloco
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 2 * chunks);
+    }
+
+    @Test
+    void bulkDeleteRemovesUsersAndOwnedRowsWithConstantNumberOfStatements() {
+        List<ApplicationUser> users = applicationUserService.findPage(firstId - 1, USERS);
+        List<Long> ids = new ArrayList<>(users.stream().map(ApplicationUser::getId).toList());
+        ids.add(-1L);
+        statistics.clear();
+
+        BulkDeleteResult result = applicationUserService.deleteAllById(ids);
+
+        assertThat(result).isEqualTo(new BulkDeleteResult(USERS + 1, USERS));
+        // ids dos dependentes, news, features, usuários, contas, cartões e empréstimos
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+        assertThat(userRepository.findAllById(ids)).isEmpty();
+        assertThat(accountRepository.findAllById(users.stream().map(user -> user.getAccount().getId()).toList())).isEmpty();
+        assertThat(cardRepository.findAllById(users.stream().map(user -> user.getCard().getId()).toList())).isEmpty();
+    }
+
+    @Test
+    void serializationDoesNotLoadUninitializedCollections() throws Exception {
+        ApplicationUser user = userRepository.findById(firstId).orElseThrow();
+        statistics.clear();
+
+        Map<?, ?> json = objectMapper.readValue(objectMapper.writeValueAsString(user), Map.class);
+
+        assertThat(json.get("features")).isNull();
+        assertThat(json.get("news")).isNull();
+        assertThat(json.get("account")).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private static ApplicationUser newUser(long seed, int i) {
+        String suffix = String.format("%09d%04d", seed, i);
+
+        Account account = new Account();
+        account.setNumber("A" + suffix);
+        account.setAgency("0001");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setCreditLimit(new BigDecimal("500.00"));
+
+        Card card = new Card();
+        card.setNumber("4" + String.format("%015d", seed * 10_000 + i).substring(0, 15));
+        card.setCreditLimit(new BigDecimal("1000.00"));
+
+        Emprestimos emprestimos = new Emprestimos();
+        emprestimos.setAmount(new BigDecimal("2000.00"));
+        emprestimos.setDate(LocalDateTime.now());
+        emprestimos.setInterestRate(new BigDecimal("1.99"));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setName("Usuário " + i);
+        user.setAccount(account);
+        user.setCard(card);
+        user.setEmprestimos(emprestimos);
+        user.setFeatures(List.of(feature("pix"), feature("boleto")));
+        user.setNews(List.of(news("promo"), news("aviso")));
+        return user;
+    }
+
+    private static Feature feature(String name) {
+        Feature feature = new Feature();
+        feature.setIcon(name + ".svg");
+        feature.setDescription(name);
+        return feature;
+    }
+
+    private static News news(String name) {
+        News news = new News();
+        news.setIcon(name + ".svg");
+        news.setDescription(name);
+        return news;
+    }
+}
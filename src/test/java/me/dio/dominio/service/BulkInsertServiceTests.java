@@ -0,0 +1,103 @@
+package me.dio.dominio.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.dio.dominio.dto.BulkItemResult;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BulkInsertServiceTests {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int batchSize;
+
+    @BeforeEach
+    void setUp() {
+        batchSize = (int) ReflectionTestUtils.getField(bulkInsertService, "batchSize");
+        ReflectionTestUtils.setField(bulkInsertService, "batchSize", BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(bulkInsertService, "batchSize", batchSize);
+    }
+
+    @Test
+    void rejectsRowsIndividuallyAndOnlyCountsInsertedNumbersAsDuplicates() throws Exception {
+        String prefix = "BK" + System.nanoTime() % 1_000_000_000L;
+        String existing = accountService.save(account(prefix + "E", "0001", "10.00")).getNumber();
+
+        List<BulkItemResult> results = saveAll(
+                // bloco 1: gravada, inválida, já cadastrada
+                account(prefix + "A", "0001", "10.00"),
+                account(prefix + "X", "01", "10.00"),
+                account(existing, "0001", "10.00"),
+                // bloco 2: o saldo não cabe em numeric(13, 2) e derruba o bloco; A repetida
+                account(prefix + "B", "0001", "1000000000000.00"),
+                account(prefix + "C", "0001", "10.00"),
+                account(prefix + "A", "0001", "10.00"),
+                // bloco 3: as rejeitadas antes voltam e são avaliadas de novo
+                account(prefix + "X", "0001", "10.00"),
+                account(existing, "0001", "10.00"),
+                account(prefix + "C", "0001", "10.00"));
+
+        assertThat(results).extracting(BulkItemResult::status).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED,
+                BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.REJECTED,
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.REJECTED, BulkItemResult.Status.CREATED);
+        assertThat(results.get(1).errors()).containsExactly("agency: A agência deve ter entre 3 e 20 caracteres");
+        assertThat(results.get(2).errors()).containsExactly("Número já cadastrado");
+        assertThat(results.get(3).errors()).singleElement().asString().startsWith("Bloco não gravado");
+        assertThat(results.get(4).errors()).singleElement().asString().startsWith("Bloco não gravado");
+        assertThat(results.get(5).errors()).containsExactly("Número duplicado na requisição");
+        assertThat(results.get(7).errors()).containsExactly("Número já cadastrado");
+
+        assertThat(accountRepository.findExistingNumbers(List.of(prefix + "A", prefix + "B", prefix + "C", prefix + "X")))
+                .containsExactlyInAnyOrder(prefix + "A", prefix + "C", prefix + "X");
+        assertThat(accountRepository.findById(results.get(8).id())).isPresent();
+    }
+
+    private List<BulkItemResult> saveAll(Account... accounts) throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (Account account : accounts) {
+            ndjson.append(objectMapper.writeValueAsString(account)).append('\n');
+        }
+        try (MappingIterator<Account> rows = objectMapper.readerFor(Account.class).readValues(ndjson.toString())) {
+            return accountService.saveAll(rows);
+        }
+    }
+
+    private static Account account(String number, String agency, String balance) {
+        Account account = new Account();
+        account.setNumber(number);
+        account.setAgency(agency);
+        account.setBalance(new BigDecimal(balance));
+        account.setCreditLimit(new BigDecimal("100.00"));
+        return account;
+    }
+}
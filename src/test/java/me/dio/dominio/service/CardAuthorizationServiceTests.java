@@ -0,0 +1,234 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.CardAuthorization;
+import me.dio.dominio.dto.CardAuthorizationRequest;
+import me.dio.dominio.model.ApplicationUser;
+import me.dio.dominio.model.Card;
+import me.dio.dominio.repository.CardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Sem a gravação periódica dos débitos: os testes chamam flush() quando precisam
+@SpringBootTest(properties = "app.cards.authorization.flush-interval=86400000")
+class CardAuthorizationServiceTests {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+
+    @Autowired
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private ApplicationUserService applicationUserService;
+
+    @Test
+    void concurrentAuthorizationsNeverExceedTheLimit() throws Exception {
+        Card card = createCard("100.00");
+        BigDecimal amount = new BigDecimal("0.07");
+
+        Queue<CardAuthorization> approved = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    CardAuthorization result = cardAuthorizationService
+                            .authorize(new CardAuthorizationRequest(card.getNumber(), amount));
+                    if (result.status() == CardAuthorization.Status.APPROVED) {
+                        approved.add(result);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(approved).hasSize(1428);
+        CardAuthorization last = null;
+        for (CardAuthorization authorization : approved) {
+            last = cardAuthorizationService.capture(authorization.authorizationId());
+        }
+        assertThat(last.availableLimit()).isEqualByComparingTo("0.04");
+
+        cardAuthorizationService.flush();
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("0.04");
+    }
+
+    @Test
+    void releaseAndLimitChangesKeepOpenReservations() {
+        Card card = createCard("50.00");
+        CardAuthorization held = cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("30.00")));
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("30.00"))).status())
+                .isEqualTo(CardAuthorization.Status.DECLINED);
+
+        card.setCreditLimit(new BigDecimal("80.00"));
+        cardService.save(card);
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("30.00"))).availableLimit())
+                .isEqualByComparingTo("20.00");
+
+        assertThat(cardAuthorizationService.release(held.authorizationId()).availableLimit())
+                .isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    void expiredReservationsGiveTheAmountBack() {
+        Card card = createCard("40.00");
+        CardAuthorization held = cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("25.00")));
+
+        cardAuthorizationService.expireReservations(System.nanoTime() + Duration.ofHours(1).toNanos());
+
+        assertThatThrownBy(() -> cardAuthorizationService.capture(held.authorizationId()))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("40.00"))).status())
+                .isEqualTo(CardAuthorization.Status.APPROVED);
+    }
+
+    @Test
+    void numberChangeKeepsPendingDebits() {
+        Card card = createCard("100.00");
+        CardAuthorization held = cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("10.00")));
+        cardAuthorizationService.capture(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("15.00"))).authorizationId());
+        String oldNumber = card.getNumber();
+
+        Card renamed = cardRepository.findById(card.getId()).orElseThrow();
+        renamed.setNumber(String.format("8%015d", System.nanoTime() % 1_000_000_000_000_000L));
+        card = cardService.save(renamed);
+        cardAuthorizationService.capture(held.authorizationId());
+        cardAuthorizationService.flush();
+
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("75.00");
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("75.01"))).status())
+                .isEqualTo(CardAuthorization.Status.DECLINED);
+        assertThatThrownBy(() -> cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(oldNumber, new BigDecimal("1.00"))))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void staleSavesConflictWithFlushedDebits() {
+        Card card = createCard("100.00");
+        cardAuthorizationService.capture(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("40.00"))).authorizationId());
+        cardAuthorizationService.flush();
+
+        card.setCreditLimit(new BigDecimal("150.00"));
+        assertThatThrownBy(() -> cardService.save(card)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        Card fresh = cardRepository.findById(card.getId()).orElseThrow();
+        fresh.setCreditLimit(new BigDecimal("110.00"));
+        cardService.save(fresh);
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("110.00"))).status())
+                .isEqualTo(CardAuthorization.Status.APPROVED);
+    }
+
+    @Test
+    void limitBelowTheCommittedAmountIsRejected() {
+        Card card = createCard("100.00");
+        cardAuthorizationService.authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("30.00")));
+        cardAuthorizationService.capture(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("50.00"))).authorizationId());
+
+        card.setCreditLimit(new BigDecimal("79.99"));
+        assertThatThrownBy(() -> cardService.save(card))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("100.00");
+
+        card.setCreditLimit(new BigDecimal("80.00"));
+        cardService.save(card);
+        cardAuthorizationService.flush();
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("30.00");
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("0.01"))).status())
+                .isEqualTo(CardAuthorization.Status.DECLINED);
+    }
+
+    @Test
+    void debitAboveTheStoredLimitWaitsForTheNextSave() {
+        Card card = createCard("50.00");
+        cardAuthorizationService.capture(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(card.getNumber(), new BigDecimal("40.00"))).authorizationId());
+
+        // Alteração fora do índice (ex.: outra instância)
+        Card external = cardRepository.findById(card.getId()).orElseThrow();
+        external.setCreditLimit(new BigDecimal("10.00"));
+        cardRepository.save(external);
+
+        cardAuthorizationService.flush();
+        cardAuthorizationService.flush();
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("10.00");
+
+        Card raised = cardRepository.findById(card.getId()).orElseThrow();
+        raised.setCreditLimit(new BigDecimal("100.00"));
+        cardService.save(raised);
+        cardAuthorizationService.flush();
+        assertThat(cardRepository.findById(card.getId()).orElseThrow().getCreditLimit()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void userChangesReachTheCardIndex() {
+        ApplicationUser user = new ApplicationUser();
+        user.setName("Titular");
+        user.setCard(newCard("60.00"));
+        user = applicationUserService.save(user);
+        String number = user.getCard().getNumber();
+        cardAuthorizationService.authorize(new CardAuthorizationRequest(number, new BigDecimal("20.00")));
+
+        user.getCard().setCreditLimit(new BigDecimal("30.00"));
+        user = applicationUserService.save(user);
+        assertThat(cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(number, new BigDecimal("10.00"))).availableLimit())
+                .isEqualByComparingTo("0.00");
+
+        applicationUserService.deleteById(user.getId());
+        assertThatThrownBy(() -> cardAuthorizationService
+                .authorize(new CardAuthorizationRequest(number, new BigDecimal("1.00"))))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private Card createCard(String limit) {
+        return cardService.save(newCard(limit));
+    }
+
+    private static Card newCard(String limit) {
+        Card card = new Card();
+        card.setNumber(String.format("9%015d", System.nanoTime() % 1_000_000_000_000_000L));
+        card.setCreditLimit(new BigDecimal(limit));
+        return card;
+    }
+}
@@ -0,0 +1,105 @@
+package me.dio.dominio.service;
+
+import me.dio.dominio.dto.TransferRequest;
+import me.dio.dominio.model.Account;
+import me.dio.dominio.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TransferServiceTests {
+
+    private static final int ACCOUNTS = 8;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 250;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void concurrentTransfersKeepTotalBalance() throws Exception {
+        List<Long> ids = createAccounts("1000.00");
+        BigDecimal before = total(ids);
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    long from = ids.get(random.nextInt(ACCOUNTS));
+                    long to = ids.get(random.nextInt(ACCOUNTS));
+                    if (from == to) {
+                        continue;
+                    }
+                    BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 20_000), 2);
+                    try {
+                        transferService.transfer(new TransferRequest(from, to, amount));
+                        completed.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(completed.get()).isPositive();
+        assertThat(total(ids)).isEqualByComparingTo(before);
+        assertThat(accountRepository.findAllById(ids))
+                .allSatisfy(account -> assertThat(account.getBalance()).isPositive());
+    }
+
+    @Test
+    void rejectsTransferThatWouldEmptyTheAccount() {
+        List<Long> ids = createAccounts("50.00");
+
+        assertThatThrownBy(() -> transferService.transfer(new TransferRequest(ids.get(0), ids.get(1), new BigDecimal("50.00"))))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Saldo insuficiente");
+        assertThat(total(ids)).isEqualByComparingTo(new BigDecimal("50.00").multiply(BigDecimal.valueOf(ACCOUNTS)));
+    }
+
+    private List<Long> createAccounts(String balance) {
+        List<Account> accounts = new ArrayList<>();
+        long seed = System.nanoTime() % 1_000_000_000L;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNumber("T" + seed + "-" + i);
+            account.setAgency("0001");
+            account.setBalance(new BigDecimal(balance));
+            account.setCreditLimit(new BigDecimal("100.00"));
+            accounts.add(account);
+        }
+        return accountRepository.saveAll(accounts).stream().map(Account::getId).toList();
+    }
+
+    private BigDecimal total(List<Long> ids) {
+        return accountRepository.findAllById(ids).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}